@@ -1,6 +1,8 @@
-import React, { useEffect, useState, useCallback } from 'react'
+import React, { useState, useCallback } from 'react'
 import { toast } from 'sonner'
 import useDialogState from '@/hooks/use-dialog-state'
+import type { PageQuery } from '@/admin/lib/api'
+import useKeysetPages, { type KeysetPagination } from '@/admin/lib/use-keyset-pages'
 import { bookingsApi } from '../data/api'
 import type { Booking, BookingStatus, CreateBookingRequest } from '../data/schema'
 
@@ -13,8 +15,11 @@ type BookingsContextType = {
   setCurrentRow: React.Dispatch<React.SetStateAction<Booking | null>>
   bookings: Booking[]
   loading: boolean
+  pagination: KeysetPagination
   statusFilter: BookingStatus | ''
   setStatusFilter: React.Dispatch<React.SetStateAction<BookingStatus | ''>>
+  searchFilter: string
+  setSearchFilter: React.Dispatch<React.SetStateAction<string>>
   addBooking: (data: CreateBookingRequest) => Promise<void>
   updateBooking: (id: number, data: CreateBookingRequest) => Promise<void>
   deleteBooking: (id: number) => Promise<void>
@@ -25,6 +30,11 @@ type BookingsContextType = {
   refreshBookings: () => Promise<void>
 }
 
+const onFetchError = (error: unknown) => {
+  toast.error('Không thể tải danh sách đặt phòng.')
+  console.error('Failed to fetch bookings:', error)
+}
+
 const BookingsContext = React.createContext<BookingsContextType | null>(null)
 
 type BookingsProviderProps = {
@@ -34,28 +44,22 @@ type BookingsProviderProps = {
 export function BookingsProvider({ children }: BookingsProviderProps) {
   const [open, setOpen] = useDialogState<BookingsDialogType>(null)
   const [currentRow, setCurrentRow] = useState<Booking | null>(null)
-  const [bookings, setBookings] = useState<Booking[]>([])
-  const [loading, setLoading] = useState(true)
   const [statusFilter, setStatusFilter] = useState<BookingStatus | ''>('')
+  const [searchFilter, setSearchFilter] = useState('')
+
+  const fetchBookings = useCallback(
+    (query: PageQuery) =>
+      bookingsApi.list(query, { status: statusFilter || undefined, search: searchFilter }),
+    [statusFilter, searchFilter]
+  )
 
-  const fetchBookings = useCallback(async () => {
-    try {
-      setLoading(true)
-      const params: { status?: BookingStatus } = {}
-      if (statusFilter) params.status = statusFilter
-      const data = await bookingsApi.list(params)
-      setBookings(data.content || [])
-    } catch (error) {
-      toast.error('Không thể tải danh sách đặt phòng.')
-      console.error('Failed to fetch bookings:', error)
-    } finally {
-      setLoading(false)
-    }
-  }, [statusFilter])
-
-  useEffect(() => {
-    fetchBookings()
-  }, [fetchBookings])
+  const {
+    items: bookings,
+    setItems: setBookings,
+    loading,
+    reload,
+    ...pagination
+  } = useKeysetPages(fetchBookings, onFetchError)
 
   const addBooking = async (data: CreateBookingRequest) => {
     const newBooking = await bookingsApi.create(data)
@@ -105,8 +109,11 @@ export function BookingsProvider({ children }: BookingsProviderProps) {
         setCurrentRow,
         bookings,
         loading,
+        pagination,
         statusFilter,
         setStatusFilter,
+        searchFilter,
+        setSearchFilter,
         addBooking,
         updateBooking,
         deleteBooking,
@@ -114,7 +121,7 @@ export function BookingsProvider({ children }: BookingsProviderProps) {
         checkInBooking,
         checkOutBooking,
         cancelBooking,
-        refreshBookings: fetchBookings
+        refreshBookings: reload
       }}
     >
       {children}
@@ -1,4 +1,4 @@
-import { useState } from 'react'
+import { useEffect, useState } from 'react'
 import { cn } from '@/lib/utils'
 import { Badge } from '@/components/ui/badge'
 import {
@@ -42,8 +42,6 @@ import {
 import type { Booking, BookingStatus } from '../data/schema'
 import { useBookings } from './bookings-provider'
 
-const PAGE_SIZE = 10
-
 const statusColors: Record<BookingStatus, string> = {
   PENDING: 'bg-yellow-100 text-yellow-800',
   CONFIRMED: 'bg-blue-100 text-blue-800',
@@ -69,26 +67,28 @@ export function BookingsTable() {
   const {
     bookings,
     loading,
+    pagination,
     setOpen,
     setCurrentRow,
     statusFilter,
     setStatusFilter,
+    searchFilter,
+    setSearchFilter,
     confirmBooking,
     checkInBooking,
     checkOutBooking,
     cancelBooking
   } = useBookings()
-  const [search, setSearch] = useState('')
-  const [currentPage, setCurrentPage] = useState(1)
+  const [search, setSearch] = useState(searchFilter)
 
-  const filteredBookings = bookings.filter((booking) => {
-    const searchLower = search.toLowerCase()
-    return booking.customerName.toLowerCase().includes(searchLower)
-  })
+  // The search runs on the server, so wait for a pause in typing before sending it
+  useEffect(() => {
+    const timer = setTimeout(() => setSearchFilter(search.trim()), 300)
+    return () => clearTimeout(timer)
+  }, [search, setSearchFilter])
 
-  const totalPages = Math.ceil(filteredBookings.length / PAGE_SIZE)
-  const startIndex = (currentPage - 1) * PAGE_SIZE
-  const paginatedBookings = filteredBookings.slice(startIndex, startIndex + PAGE_SIZE)
+  const { total, pageNumber, pageSize, hasNext, hasPrevious, nextPage, previousPage } = pagination
+  const startIndex = (pageNumber - 1) * pageSize
 
   const handleViewDetail = (booking: Booking) => {
     setCurrentRow(booking)
@@ -105,15 +105,6 @@ export function BookingsTable() {
     setOpen('delete')
   }
 
-  if (loading) {
-    return (
-      <div className="flex flex-col gap-4">
-        <Skeleton className="h-10 w-72" />
-        <Skeleton className="h-64 w-full" />
-      </div>
-    )
-  }
-
   return (
     <div className="flex flex-1 flex-col gap-4">
       {/* Search/Filter Toolbar */}
@@ -123,19 +114,15 @@ export function BookingsTable() {
           <Input
             placeholder="Tìm theo tên khách hàng..."
             value={search}
-            onChange={(e) => {
-              setSearch(e.target.value)
-              setCurrentPage(1)
-            }}
+            onChange={(e) => setSearch(e.target.value)}
             className="pl-8"
           />
         </div>
         <Select
           value={statusFilter}
-          onValueChange={(value) => {
+          onValueChange={(value) =>
             setStatusFilter(value === 'ALL' ? '' : (value as BookingStatus))
-            setCurrentPage(1)
-          }}
+          }
         >
           <SelectTrigger className="w-[200px]">
             <SelectValue placeholder="Tất cả trạng thái" />
@@ -152,131 +139,130 @@ export function BookingsTable() {
       </div>
 
       {/* Table */}
-      <div className="overflow-hidden rounded-md border">
-        <Table>
-          <TableHeader>
-            <TableRow className="bg-muted/50">
-              <TableHead>Khách hàng</TableHead>
-              <TableHead>Phòng</TableHead>
-              <TableHead>Nhận phòng</TableHead>
-              <TableHead>Trả phòng</TableHead>
-              <TableHead>Tổng tiền</TableHead>
-              <TableHead>Trạng thái</TableHead>
-              <TableHead className="w-17">Thao tác</TableHead>
-            </TableRow>
-          </TableHeader>
-          <TableBody>
-            {paginatedBookings.length === 0 ? (
-              <TableRow>
-                <TableCell colSpan={7} className="h-24 text-center">
-                  Không tìm thấy đặt phòng nào.
-                </TableCell>
+      {loading ? (
+        <Skeleton className="h-64 w-full" />
+      ) : (
+        <div className="overflow-hidden rounded-md border">
+          <Table>
+            <TableHeader>
+              <TableRow className="bg-muted/50">
+                <TableHead>Khách hàng</TableHead>
+                <TableHead>Phòng</TableHead>
+                <TableHead>Nhận phòng</TableHead>
+                <TableHead>Trả phòng</TableHead>
+                <TableHead>Tổng tiền</TableHead>
+                <TableHead>Trạng thái</TableHead>
+                <TableHead className="w-17">Thao tác</TableHead>
               </TableRow>
-            ) : (
-              paginatedBookings.map((booking) => (
-                <TableRow key={booking.id}>
-                  <TableCell className="font-medium">{booking.customerName}</TableCell>
-                  <TableCell>{booking.roomNumber}</TableCell>
-                  <TableCell>{formatDate(booking.checkInDate)}</TableCell>
-                  <TableCell>{formatDate(booking.checkOutDate)}</TableCell>
-                  <TableCell>{formatCurrency(booking.totalPrice)}</TableCell>
-                  <TableCell>
-                    <Badge
-                      variant="outline"
-                      className={cn('border-0', statusColors[booking.status])}
-                    >
-                      {statusLabels[booking.status]}
-                    </Badge>
+            </TableHeader>
+            <TableBody>
+              {bookings.length === 0 ? (
+                <TableRow>
+                  <TableCell colSpan={7} className="h-24 text-center">
+                    Không tìm thấy đặt phòng nào.
                   </TableCell>
-                  <TableCell>
-                    <DropdownMenu>
-                      <DropdownMenuTrigger asChild>
-                        <Button variant="ghost" className="h-8 w-8 p-0">
-                          <span className="sr-only">Open menu</span>
-                          <MoreHorizontal className="h-4 w-4" />
-                        </Button>
-                      </DropdownMenuTrigger>
-                      <DropdownMenuContent align="end">
-                        <DropdownMenuItem onClick={() => handleViewDetail(booking)}>
-                          <Eye className="mr-2 h-4 w-4" />
-                          Xem chi tiết
-                        </DropdownMenuItem>
-                        <DropdownMenuSeparator />
-                        {booking.status === 'PENDING' && (
-                          <DropdownMenuItem onClick={() => confirmBooking(booking.id)}>
-                            <CheckCircle className="mr-2 h-4 w-4" />
-                            Xác nhận
-                          </DropdownMenuItem>
-                        )}
-                        {booking.status === 'CONFIRMED' && (
-                          <DropdownMenuItem onClick={() => checkInBooking(booking.id)}>
-                            <LogIn className="mr-2 h-4 w-4" />
-                            Check-in
+                </TableRow>
+              ) : (
+                bookings.map((booking) => (
+                  <TableRow key={booking.id}>
+                    <TableCell className="font-medium">{booking.customerName}</TableCell>
+                    <TableCell>{booking.roomNumber}</TableCell>
+                    <TableCell>{formatDate(booking.checkInDate)}</TableCell>
+                    <TableCell>{formatDate(booking.checkOutDate)}</TableCell>
+                    <TableCell>{formatCurrency(booking.totalPrice)}</TableCell>
+                    <TableCell>
+                      <Badge
+                        variant="outline"
+                        className={cn('border-0', statusColors[booking.status])}
+                      >
+                        {statusLabels[booking.status]}
+                      </Badge>
+                    </TableCell>
+                    <TableCell>
+                      <DropdownMenu>
+                        <DropdownMenuTrigger asChild>
+                          <Button variant="ghost" className="h-8 w-8 p-0">
+                            <span className="sr-only">Open menu</span>
+                            <MoreHorizontal className="h-4 w-4" />
+                          </Button>
+                        </DropdownMenuTrigger>
+                        <DropdownMenuContent align="end">
+                          <DropdownMenuItem onClick={() => handleViewDetail(booking)}>
+                            <Eye className="mr-2 h-4 w-4" />
+                            Xem chi tiết
                           </DropdownMenuItem>
-                        )}
-                        {booking.status === 'CHECKED_IN' && (
-                          <DropdownMenuItem onClick={() => checkOutBooking(booking.id)}>
-                            <LogOut className="mr-2 h-4 w-4" />
-                            Check-out
+                          <DropdownMenuSeparator />
+                          {booking.status === 'PENDING' && (
+                            <DropdownMenuItem onClick={() => confirmBooking(booking.id)}>
+                              <CheckCircle className="mr-2 h-4 w-4" />
+                              Xác nhận
+                            </DropdownMenuItem>
+                          )}
+                          {booking.status === 'CONFIRMED' && (
+                            <DropdownMenuItem onClick={() => checkInBooking(booking.id)}>
+                              <LogIn className="mr-2 h-4 w-4" />
+                              Check-in
+                            </DropdownMenuItem>
+                          )}
+                          {booking.status === 'CHECKED_IN' && (
+                            <DropdownMenuItem onClick={() => checkOutBooking(booking.id)}>
+                              <LogOut className="mr-2 h-4 w-4" />
+                              Check-out
+                            </DropdownMenuItem>
+                          )}
+                          {booking.status !== 'CANCELLED' && booking.status !== 'CHECKED_OUT' && (
+                            <DropdownMenuItem
+                              onClick={() => cancelBooking(booking.id)}
+                              className="text-destructive focus:text-destructive"
+                            >
+                              <XCircle className="mr-2 h-4 w-4" />
+                              Hủy đặt phòng
+                            </DropdownMenuItem>
+                          )}
+                          <DropdownMenuSeparator />
+                          <DropdownMenuItem onClick={() => handleEdit(booking)}>
+                            <Pencil className="mr-2 h-4 w-4" />
+                            Sửa
                           </DropdownMenuItem>
-                        )}
-                        {booking.status !== 'CANCELLED' && booking.status !== 'CHECKED_OUT' && (
                           <DropdownMenuItem
-                            onClick={() => cancelBooking(booking.id)}
+                            onClick={() => handleDelete(booking)}
                             className="text-destructive focus:text-destructive"
                           >
-                            <XCircle className="mr-2 h-4 w-4" />
-                            Hủy đặt phòng
+                            <Trash2 className="mr-2 h-4 w-4" />
+                            Xóa
                           </DropdownMenuItem>
-                        )}
-                        <DropdownMenuSeparator />
-                        <DropdownMenuItem onClick={() => handleEdit(booking)}>
-                          <Pencil className="mr-2 h-4 w-4" />
-                          Sửa
-                        </DropdownMenuItem>
-                        <DropdownMenuItem
-                          onClick={() => handleDelete(booking)}
-                          className="text-destructive focus:text-destructive"
-                        >
-                          <Trash2 className="mr-2 h-4 w-4" />
-                          Xóa
-                        </DropdownMenuItem>
-                      </DropdownMenuContent>
-                    </DropdownMenu>
-                  </TableCell>
-                </TableRow>
-              ))
-            )}
-          </TableBody>
-        </Table>
-      </div>
+                        </DropdownMenuContent>
+                      </DropdownMenu>
+                    </TableCell>
+                  </TableRow>
+                ))
+              )}
+            </TableBody>
+          </Table>
+        </div>
+      )}
 
       {/* Pagination */}
       <div className="flex items-center justify-between px-2">
         <div className="text-sm text-muted-foreground">
-          Hiển thị {filteredBookings.length === 0 ? 0 : startIndex + 1} đến{' '}
-          {Math.min(startIndex + PAGE_SIZE, filteredBookings.length)} trong tổng số{' '}
-          {filteredBookings.length} đặt phòng
+          Hiển thị {bookings.length === 0 ? 0 : startIndex + 1} đến {startIndex + bookings.length}
+          {total !== null && ` trong tổng số ${total}`} đặt phòng
         </div>
         <div className="flex items-center space-x-2">
           <Button
             variant="outline"
             size="sm"
-            onClick={() => setCurrentPage((prev) => Math.max(1, prev - 1))}
-            disabled={currentPage === 1}
+            onClick={previousPage}
+            disabled={loading || !hasPrevious}
           >
             <ChevronLeft className="h-4 w-4" />
             Trước
           </Button>
           <div className="text-sm font-medium">
-            Trang {currentPage} / {totalPages || 1}
+            Trang {pageNumber}
+            {total !== null && ` / ${Math.max(1, Math.ceil(total / pageSize))}`}
           </div>
-          <Button
-            variant="outline"
-            size="sm"
-            onClick={() => setCurrentPage((prev) => Math.min(totalPages, prev + 1))}
-            disabled={currentPage === totalPages || totalPages === 0}
-          >
+          <Button variant="outline" size="sm" onClick={nextPage} disabled={loading || !hasNext}>
             Sau
             <ChevronRight className="h-4 w-4" />
           </Button>
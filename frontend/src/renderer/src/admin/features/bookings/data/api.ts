@@ -1,15 +1,11 @@
-import { api } from '@/admin/lib/api'
+import { api, type PageQuery } from '@/admin/lib/api'
 import type { Booking, BookingHistory, BookingStatus, CreateBookingRequest } from './schema'
 
 export const bookingsApi = {
-  list: (params: { status?: BookingStatus; startDate?: string; endDate?: string }) => {
-    const searchParams = new URLSearchParams()
-    if (params.status) searchParams.append('status', params.status)
-    if (params.startDate) searchParams.append('startDate', params.startDate)
-    if (params.endDate) searchParams.append('endDate', params.endDate)
-    const qs = searchParams.toString()
-    return api.get<Booking[]>(`/admin/bookings${qs ? `?${qs}` : ''}`)
-  },
+  list: (
+    query: PageQuery,
+    filters: { status?: BookingStatus; search?: string; startDate?: string; endDate?: string } = {}
+  ) => api.page<Booking>('/admin/bookings', query, filters),
   getById: (id: number) => api.get<Booking>(`/admin/bookings/${id}`),
   create: (data: CreateBookingRequest) => api.post<Booking>('/admin/bookings', data),
   update: (id: number, data: CreateBookingRequest) =>
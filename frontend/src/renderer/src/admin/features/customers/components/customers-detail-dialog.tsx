@@ -1,4 +1,4 @@
-import { useEffect, useState } from 'react'
+import { useCallback, useEffect, useState } from 'react'
 import {
   Dialog,
   DialogContent,
@@ -18,11 +18,14 @@ import {
   TableRow
 } from '@/components/ui/table'
 import { Skeleton } from '@/components/ui/skeleton'
+import { Button } from '@/components/ui/button'
 import { ErrorBoundary } from '@/components/ui/error-boundary'
 import { Star, CalendarDays, DollarSign, Hotel, Clock } from 'lucide-react'
 import { customersApi } from '../data/api'
 import type { Customer, CustomerStats, CustomerBooking } from '../data/schema'
 
+const BOOKINGS_PAGE_SIZE = 20
+
 type CustomersDetailDialogProps = {
   currentRow: Customer
   open: boolean
@@ -48,8 +51,31 @@ export function CustomersDetailDialog({
 }: CustomersDetailDialogProps) {
   const [stats, setStats] = useState<CustomerStats | null>(null)
   const [bookings, setBookings] = useState<CustomerBooking[]>([])
+  const [bookingsCursor, setBookingsCursor] = useState<string | null>(null)
   const [loadingStats, setLoadingStats] = useState(false)
   const [loadingBookings, setLoadingBookings] = useState(false)
+  const [loadingMoreBookings, setLoadingMoreBookings] = useState(false)
+
+  // Appends the page after `cursor`; without one, starts the list over
+  const fetchBookings = useCallback(
+    async (cursor: string | null) => {
+      const setLoading = cursor ? setLoadingMoreBookings : setLoadingBookings
+      try {
+        setLoading(true)
+        const page = await customersApi.getBookings(currentRow.id, {
+          cursor,
+          size: BOOKINGS_PAGE_SIZE
+        })
+        setBookings((prev) => (cursor ? [...prev, ...page.content] : page.content))
+        setBookingsCursor(page.hasNext ? page.nextCursor : null)
+      } catch (error) {
+        console.error('Failed to fetch customer bookings:', error)
+      } finally {
+        setLoading(false)
+      }
+    },
+    [currentRow.id]
+  )
 
   useEffect(() => {
     if (!open || !currentRow) return
@@ -66,21 +92,9 @@ export function CustomersDetailDialog({
       }
     }
 
-    const fetchBookings = async () => {
-      try {
-        setLoadingBookings(true)
-        const data = await customersApi.getBookings(currentRow.id)
-        setBookings(data.content || [])
-      } catch (error) {
-        console.error('Failed to fetch customer bookings:', error)
-      } finally {
-        setLoadingBookings(false)
-      }
-    }
-
     fetchStats()
-    fetchBookings()
-  }, [open, currentRow])
+    fetchBookings(null)
+  }, [open, currentRow, fetchBookings])
 
   const statusMap: Record<
     string,
@@ -266,6 +280,18 @@ export function CustomersDetailDialog({
                       })}
                     </TableBody>
                   </Table>
+                  {bookingsCursor && (
+                    <div className="flex justify-center border-t p-2">
+                      <Button
+                        variant="ghost"
+                        size="sm"
+                        onClick={() => fetchBookings(bookingsCursor)}
+                        disabled={loadingMoreBookings}
+                      >
+                        {loadingMoreBookings ? 'Đang tải...' : 'Xem thêm'}
+                      </Button>
+                    </div>
+                  )}
                 </div>
               )}
             </TabsContent>
@@ -1,6 +1,8 @@
-import React, { useEffect, useState, useCallback } from 'react'
+import React, { useState, useCallback } from 'react'
 import { toast } from 'sonner'
 import useDialogState from '@/hooks/use-dialog-state'
+import type { PageQuery } from '@/admin/lib/api'
+import useKeysetPages, { type KeysetPagination } from '@/admin/lib/use-keyset-pages'
 import { customersApi } from '../data/api'
 import type { Customer, CreateCustomerRequest } from '../data/schema'
 
@@ -13,12 +15,22 @@ type CustomersContextType = {
   setCurrentRow: React.Dispatch<React.SetStateAction<Customer | null>>
   customers: Customer[]
   loading: boolean
+  pagination: KeysetPagination
+  searchFilter: string
+  setSearchFilter: React.Dispatch<React.SetStateAction<string>>
+  vipOnly: boolean
+  setVipOnly: React.Dispatch<React.SetStateAction<boolean>>
   addCustomer: (data: CreateCustomerRequest) => Promise<void>
   updateCustomer: (id: number, data: CreateCustomerRequest) => Promise<void>
   deleteCustomer: (id: number) => Promise<void>
   refreshCustomers: () => Promise<void>
 }
 
+const onFetchError = (error: unknown) => {
+  toast.error('Không thể tải danh sách khách hàng.')
+  console.error('Failed to fetch customers:', error)
+}
+
 const CustomersContext = React.createContext<CustomersContextType | null>(null)
 
 type CustomersProviderProps = {
@@ -28,25 +40,22 @@ type CustomersProviderProps = {
 export function CustomersProvider({ children }: CustomersProviderProps) {
   const [open, setOpen] = useDialogState<CustomersDialogType>(null)
   const [currentRow, setCurrentRow] = useState<Customer | null>(null)
-  const [customers, setCustomers] = useState<Customer[]>([])
-  const [loading, setLoading] = useState(true)
+  const [searchFilter, setSearchFilter] = useState('')
+  const [vipOnly, setVipOnly] = useState(false)
 
-  const fetchCustomers = useCallback(async () => {
-    try {
-      setLoading(true)
-      const page = await customersApi.list()
-      setCustomers(page.content || [])
-    } catch (error) {
-      toast.error('Không thể tải danh sách khách hàng.')
-      console.error('Failed to fetch customers:', error)
-    } finally {
-      setLoading(false)
-    }
-  }, [])
+  const fetchCustomers = useCallback(
+    (query: PageQuery) =>
+      customersApi.list(query, { search: searchFilter, isVIP: vipOnly || undefined }),
+    [searchFilter, vipOnly]
+  )
 
-  useEffect(() => {
-    fetchCustomers()
-  }, [fetchCustomers])
+  const {
+    items: customers,
+    setItems: setCustomers,
+    loading,
+    reload,
+    ...pagination
+  } = useKeysetPages(fetchCustomers, onFetchError)
 
   const addCustomer = async (data: CreateCustomerRequest) => {
     const newCustomer = await customersApi.create(data)
@@ -72,10 +81,15 @@ export function CustomersProvider({ children }: CustomersProviderProps) {
         setCurrentRow,
         customers,
         loading,
+        pagination,
+        searchFilter,
+        setSearchFilter,
+        vipOnly,
+        setVipOnly,
         addCustomer,
         updateCustomer,
         deleteCustomer,
-        refreshCustomers: fetchCustomers
+        refreshCustomers: reload
       }}
     >
       {children}
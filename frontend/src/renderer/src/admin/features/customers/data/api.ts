@@ -1,17 +1,14 @@
-import { api } from '@/admin/lib/api'
+import { api, type PageQuery } from '@/admin/lib/api'
 import type {
   Customer,
   CustomerStats,
   CustomerBooking,
-  CreateCustomerRequest,
-  CustomerPage
+  CreateCustomerRequest
 } from './schema'
 
 export const customersApi = {
-  list: (keyword?: string) => {
-    const params = keyword ? `?keyword=${encodeURIComponent(keyword)}` : ''
-    return api.get<Customer[]>(`/admin/customers${params}`)
-  },
+  list: (query: PageQuery, filters: { search?: string; isVIP?: boolean } = {}) =>
+    api.page<Customer>('/admin/customers', query, filters),
 
   getById: (id: number) => api.get<Customer>(`/admin/customers/${id}`),
 
@@ -24,5 +21,6 @@ export const customersApi = {
 
   getStats: (id: number) => api.get<CustomerStats>(`/admin/customers/${id}/stats`),
 
-  getBookings: (id: number) => api.get<CustomerBooking[]>(`/admin/customers/${id}/bookings`)
+  getBookings: (id: number, query: PageQuery) =>
+    api.page<CustomerBooking>(`/admin/customers/${id}/bookings`, query)
 }
@@ -20,16 +20,6 @@ export type Customer = z.infer<typeof customerSchema>
 
 export const customerListSchema = z.array(customerSchema)
 
-// Spring Page response
-export const customerPageSchema = z.object({
-  content: z.array(customerSchema),
-  totalElements: z.number(),
-  totalPages: z.number(),
-  size: z.number(),
-  number: z.number()
-})
-export type CustomerPage = z.infer<typeof customerPageSchema>
-
 // Customer stats schema
 export const customerStatsSchema = z.object({
   totalBookings: z.number(),
@@ -1,6 +1,8 @@
 import React, { useEffect, useState, useCallback } from 'react'
 import { toast } from 'sonner'
 import useDialogState from '@/hooks/use-dialog-state'
+import type { PageQuery } from '@/admin/lib/api'
+import useKeysetPages, { type KeysetPagination } from '@/admin/lib/use-keyset-pages'
 import { roomsApi, roomTypesApi } from '../data/api'
 import type {
   Room,
@@ -20,8 +22,11 @@ type RoomsContextType = {
   rooms: Room[]
   roomTypes: RoomType[]
   loading: boolean
+  pagination: KeysetPagination
   statusFilter: RoomStatus | ''
   setStatusFilter: React.Dispatch<React.SetStateAction<RoomStatus | ''>>
+  roomTypeFilter: number | null
+  setRoomTypeFilter: React.Dispatch<React.SetStateAction<number | null>>
   addRoom: (data: CreateRoomRequest) => Promise<void>
   bulkCreateRooms: (data: BulkCreateRoomRequest) => Promise<void>
   updateRoom: (id: number, data: CreateRoomRequest) => Promise<void>
@@ -31,6 +36,11 @@ type RoomsContextType = {
   refreshRoomTypes: () => Promise<void>
 }
 
+const onFetchError = (error: unknown) => {
+  toast.error('Không thể tải danh sách phòng.')
+  console.error('Failed to fetch rooms:', error)
+}
+
 const RoomsContext = React.createContext<RoomsContextType | null>(null)
 
 type RoomsProviderProps = {
@@ -40,10 +50,9 @@ type RoomsProviderProps = {
 export function RoomsProvider({ children }: RoomsProviderProps) {
   const [open, setOpen] = useDialogState<RoomsDialogType>(null)
   const [currentRow, setCurrentRow] = useState<Room | null>(null)
-  const [rooms, setRooms] = useState<Room[]>([])
   const [roomTypes, setRoomTypes] = useState<RoomType[]>([])
-  const [loading, setLoading] = useState(true)
   const [statusFilter, setStatusFilter] = useState<RoomStatus | ''>('')
+  const [roomTypeFilter, setRoomTypeFilter] = useState<number | null>(null)
 
   const fetchRoomTypes = useCallback(async () => {
     try {
@@ -55,29 +64,27 @@ export function RoomsProvider({ children }: RoomsProviderProps) {
     }
   }, [])
 
-  const fetchRooms = useCallback(async () => {
-    try {
-      setLoading(true)
-      const params: { status?: RoomStatus } = {}
-      if (statusFilter) params.status = statusFilter
-      const data = await roomsApi.list(params)
-      setRooms(data.content || [])
-    } catch (error) {
-      toast.error('Không thể tải danh sách phòng.')
-      console.error('Failed to fetch rooms:', error)
-    } finally {
-      setLoading(false)
-    }
-  }, [statusFilter])
+  const fetchRooms = useCallback(
+    (query: PageQuery) =>
+      roomsApi.list(query, {
+        status: statusFilter || undefined,
+        roomTypeId: roomTypeFilter ?? undefined
+      }),
+    [statusFilter, roomTypeFilter]
+  )
+
+  const {
+    items: rooms,
+    setItems: setRooms,
+    loading,
+    reload,
+    ...pagination
+  } = useKeysetPages(fetchRooms, onFetchError)
 
   useEffect(() => {
     fetchRoomTypes()
   }, [fetchRoomTypes])
 
-  useEffect(() => {
-    fetchRooms()
-  }, [fetchRooms])
-
   const addRoom = async (data: CreateRoomRequest) => {
     const newRoom = await roomsApi.create(data)
     setRooms((prev) => [newRoom, ...prev])
@@ -113,14 +120,17 @@ export function RoomsProvider({ children }: RoomsProviderProps) {
         rooms,
         roomTypes,
         loading,
+        pagination,
         statusFilter,
         setStatusFilter,
+        roomTypeFilter,
+        setRoomTypeFilter,
         addRoom,
         bulkCreateRooms,
         updateRoom,
         deleteRoom,
         updateRoomStatus,
-        refreshRooms: fetchRooms,
+        refreshRooms: reload,
         refreshRoomTypes: fetchRoomTypes
       }}
     >
@@ -1,4 +1,3 @@
-import { useState } from 'react'
 import { cn } from '@/lib/utils'
 import { Badge } from '@/components/ui/badge'
 import {
@@ -10,7 +9,6 @@ import {
   TableRow
 } from '@/components/ui/table'
 import { Button } from '@/components/ui/button'
-import { Input } from '@/components/ui/input'
 import { Skeleton } from '@/components/ui/skeleton'
 import {
   Select,
@@ -25,12 +23,10 @@ import {
   DropdownMenuItem,
   DropdownMenuTrigger
 } from '@/components/ui/dropdown-menu'
-import { MoreHorizontal, Pencil, Trash2, Search, ChevronLeft, ChevronRight } from 'lucide-react'
+import { MoreHorizontal, Pencil, Trash2, ChevronLeft, ChevronRight } from 'lucide-react'
 import type { Room, RoomStatus } from '../data/schema'
 import { useRooms } from './rooms-provider'
 
-const PAGE_SIZE = 10
-
 const statusColors: Record<RoomStatus, string> = {
   AVAILABLE: 'bg-green-100 text-green-800',
   OCCUPIED: 'bg-red-100 text-red-800',
@@ -46,22 +42,21 @@ const statusLabels: Record<RoomStatus, string> = {
 }
 
 export function RoomsTable() {
-  const { rooms, loading, setOpen, setCurrentRow, statusFilter, setStatusFilter } = useRooms()
-  const [search, setSearch] = useState('')
-  const [currentPage, setCurrentPage] = useState(1)
-
-  const filteredRooms = rooms.filter((room) => {
-    const searchLower = search.toLowerCase()
-    return (
-      room.roomNumber.toLowerCase().includes(searchLower) ||
-      (room.roomTypeName ?? '').toLowerCase().includes(searchLower) ||
-      String(room.floor).includes(searchLower)
-    )
-  })
+  const {
+    rooms,
+    roomTypes,
+    loading,
+    pagination,
+    setOpen,
+    setCurrentRow,
+    statusFilter,
+    setStatusFilter,
+    roomTypeFilter,
+    setRoomTypeFilter
+  } = useRooms()
 
-  const totalPages = Math.ceil(filteredRooms.length / PAGE_SIZE)
-  const startIndex = (currentPage - 1) * PAGE_SIZE
-  const paginatedRooms = filteredRooms.slice(startIndex, startIndex + PAGE_SIZE)
+  const { total, pageNumber, pageSize, hasNext, hasPrevious, nextPage, previousPage } = pagination
+  const startIndex = (pageNumber - 1) * pageSize
 
   const handleEdit = (room: Room) => {
     setCurrentRow(room)
@@ -73,37 +68,29 @@ export function RoomsTable() {
     setOpen('delete')
   }
 
-  if (loading) {
-    return (
-      <div className="flex flex-col gap-4">
-        <Skeleton className="h-10 w-72" />
-        <Skeleton className="h-64 w-full" />
-      </div>
-    )
-  }
-
   return (
     <div className="flex flex-1 flex-col gap-4">
-      {/* Search/Filter Toolbar */}
+      {/* Filter Toolbar */}
       <div className="flex items-center gap-2">
-        <div className="relative flex-1 max-w-sm">
-          <Search className="absolute left-2.5 top-2.5 h-4 w-4 text-muted-foreground" />
-          <Input
-            placeholder="Tìm kiếm phòng..."
-            value={search}
-            onChange={(e) => {
-              setSearch(e.target.value)
-              setCurrentPage(1)
-            }}
-            className="pl-8"
-          />
-        </div>
+        <Select
+          value={roomTypeFilter === null ? 'ALL' : String(roomTypeFilter)}
+          onValueChange={(value) => setRoomTypeFilter(value === 'ALL' ? null : Number(value))}
+        >
+          <SelectTrigger className="w-[200px]">
+            <SelectValue placeholder="Tất cả loại phòng" />
+          </SelectTrigger>
+          <SelectContent>
+            <SelectItem value="ALL">Tất cả loại phòng</SelectItem>
+            {roomTypes.map((type) => (
+              <SelectItem key={type.id} value={String(type.id)}>
+                {type.name}
+              </SelectItem>
+            ))}
+          </SelectContent>
+        </Select>
         <Select
           value={statusFilter}
-          onValueChange={(value) => {
-            setStatusFilter(value as RoomStatus | '')
-            setCurrentPage(1)
-          }}
+          onValueChange={(value) => setStatusFilter(value === 'ALL' ? '' : (value as RoomStatus))}
         >
           <SelectTrigger className="w-[180px]">
             <SelectValue placeholder="Tất cả trạng thái" />
@@ -119,93 +106,95 @@ export function RoomsTable() {
       </div>
 
       {/* Table */}
-      <div className="overflow-hidden rounded-md border">
-        <Table>
-          <TableHeader>
-            <TableRow className="bg-muted/50">
-              <TableHead>Số phòng</TableHead>
-              <TableHead>Tầng</TableHead>
-              <TableHead>Loại phòng</TableHead>
-              <TableHead>Trạng thái</TableHead>
-              <TableHead>Ghi chú</TableHead>
-              <TableHead className="w-17">Thao tác</TableHead>
-            </TableRow>
-          </TableHeader>
-          <TableBody>
-            {paginatedRooms.length === 0 ? (
-              <TableRow>
-                <TableCell colSpan={6} className="h-24 text-center">
-                  Không tìm thấy phòng nào.
-                </TableCell>
+      {loading ? (
+        <Skeleton className="h-64 w-full" />
+      ) : (
+        <div className="overflow-hidden rounded-md border">
+          <Table>
+            <TableHeader>
+              <TableRow className="bg-muted/50">
+                <TableHead>Số phòng</TableHead>
+                <TableHead>Tầng</TableHead>
+                <TableHead>Loại phòng</TableHead>
+                <TableHead>Trạng thái</TableHead>
+                <TableHead>Ghi chú</TableHead>
+                <TableHead className="w-17">Thao tác</TableHead>
               </TableRow>
-            ) : (
-              paginatedRooms.map((room) => (
-                <TableRow key={room.id}>
-                  <TableCell className="font-medium">{room.roomNumber}</TableCell>
-                  <TableCell>{room.floor}</TableCell>
-                  <TableCell>{room.roomTypeName || '—'}</TableCell>
-                  <TableCell>
-                    <Badge variant="outline" className={cn('border-0', statusColors[room.status])}>
-                      {statusLabels[room.status]}
-                    </Badge>
-                  </TableCell>
-                  <TableCell className="max-w-xs truncate">{room.notes || '—'}</TableCell>
-                  <TableCell>
-                    <DropdownMenu>
-                      <DropdownMenuTrigger asChild>
-                        <Button variant="ghost" className="h-8 w-8 p-0">
-                          <span className="sr-only">Open menu</span>
-                          <MoreHorizontal className="h-4 w-4" />
-                        </Button>
-                      </DropdownMenuTrigger>
-                      <DropdownMenuContent align="end">
-                        <DropdownMenuItem onClick={() => handleEdit(room)}>
-                          <Pencil className="mr-2 h-4 w-4" />
-                          Sửa
-                        </DropdownMenuItem>
-                        <DropdownMenuItem
-                          onClick={() => handleDelete(room)}
-                          className="text-destructive focus:text-destructive"
-                        >
-                          <Trash2 className="mr-2 h-4 w-4" />
-                          Xóa
-                        </DropdownMenuItem>
-                      </DropdownMenuContent>
-                    </DropdownMenu>
+            </TableHeader>
+            <TableBody>
+              {rooms.length === 0 ? (
+                <TableRow>
+                  <TableCell colSpan={6} className="h-24 text-center">
+                    Không tìm thấy phòng nào.
                   </TableCell>
                 </TableRow>
-              ))
-            )}
-          </TableBody>
-        </Table>
-      </div>
+              ) : (
+                rooms.map((room) => (
+                  <TableRow key={room.id}>
+                    <TableCell className="font-medium">{room.roomNumber}</TableCell>
+                    <TableCell>{room.floor}</TableCell>
+                    <TableCell>{room.roomTypeName || '—'}</TableCell>
+                    <TableCell>
+                      <Badge
+                        variant="outline"
+                        className={cn('border-0', statusColors[room.status])}
+                      >
+                        {statusLabels[room.status]}
+                      </Badge>
+                    </TableCell>
+                    <TableCell className="max-w-xs truncate">{room.notes || '—'}</TableCell>
+                    <TableCell>
+                      <DropdownMenu>
+                        <DropdownMenuTrigger asChild>
+                          <Button variant="ghost" className="h-8 w-8 p-0">
+                            <span className="sr-only">Open menu</span>
+                            <MoreHorizontal className="h-4 w-4" />
+                          </Button>
+                        </DropdownMenuTrigger>
+                        <DropdownMenuContent align="end">
+                          <DropdownMenuItem onClick={() => handleEdit(room)}>
+                            <Pencil className="mr-2 h-4 w-4" />
+                            Sửa
+                          </DropdownMenuItem>
+                          <DropdownMenuItem
+                            onClick={() => handleDelete(room)}
+                            className="text-destructive focus:text-destructive"
+                          >
+                            <Trash2 className="mr-2 h-4 w-4" />
+                            Xóa
+                          </DropdownMenuItem>
+                        </DropdownMenuContent>
+                      </DropdownMenu>
+                    </TableCell>
+                  </TableRow>
+                ))
+              )}
+            </TableBody>
+          </Table>
+        </div>
+      )}
 
       {/* Pagination */}
       <div className="flex items-center justify-between px-2">
         <div className="text-sm text-muted-foreground">
-          Hiển thị {filteredRooms.length === 0 ? 0 : startIndex + 1} đến{' '}
-          {Math.min(startIndex + PAGE_SIZE, filteredRooms.length)} trong tổng số{' '}
-          {filteredRooms.length} phòng
+          Hiển thị {rooms.length === 0 ? 0 : startIndex + 1} đến {startIndex + rooms.length}
+          {total !== null && ` trong tổng số ${total}`} phòng
         </div>
         <div className="flex items-center space-x-2">
           <Button
             variant="outline"
             size="sm"
-            onClick={() => setCurrentPage((prev) => Math.max(1, prev - 1))}
-            disabled={currentPage === 1}
+            onClick={previousPage}
+            disabled={loading || !hasPrevious}
           >
             <ChevronLeft className="h-4 w-4" />
             Trước
           </Button>
           <div className="text-sm font-medium">
-            Trang {currentPage} / {totalPages || 1}
+            Trang {pageNumber}
+            {total !== null && ` / ${Math.max(1, Math.ceil(total / pageSize))}`}
           </div>
-          <Button
-            variant="outline"
-            size="sm"
-            onClick={() => setCurrentPage((prev) => Math.min(totalPages, prev + 1))}
-            disabled={currentPage === totalPages || totalPages === 0}
-          >
+          <Button variant="outline" size="sm" onClick={nextPage} disabled={loading || !hasNext}>
             Sau
             <ChevronRight className="h-4 w-4" />
           </Button>
@@ -1,4 +1,4 @@
-import { api } from '@/admin/lib/api'
+import { api, type PageQuery } from '@/admin/lib/api'
 import type {
   Room,
   RoomType,
@@ -19,12 +19,8 @@ export const roomTypesApi = {
 
 // Rooms API
 export const roomsApi = {
-  list: (params: { roomTypeId?: number; status?: RoomStatus }) => {
-    const searchParams = new URLSearchParams()
-    if (params.roomTypeId) searchParams.append('roomTypeId', String(params.roomTypeId))
-    if (params.status) searchParams.append('status', params.status)
-    return api.get<Room[]>(`/admin/rooms?${searchParams.toString()}`)
-  },
+  list: (query: PageQuery, filters: { roomTypeId?: number; status?: RoomStatus } = {}) =>
+    api.page<Room>('/admin/rooms', query, filters),
   getById: (id: number) => api.get<Room>(`/admin/rooms/${id}`),
   create: (data: CreateRoomRequest) => api.post<Room>('/admin/rooms', data),
   bulkCreate: (data: BulkCreateRoomRequest) => api.post<Room[]>('/admin/rooms/bulk', data),
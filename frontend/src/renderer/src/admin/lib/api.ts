@@ -36,8 +36,44 @@ async function request<T>(endpoint: string, options: RequestOptions = {}): Promi
   return response.json()
 }
 
+// Keyset-paginated list response; pass nextCursor back as `cursor` for the next page
+export type KeysetPage<T> = {
+  content: T[]
+  size: number
+  nextCursor: string | null
+  hasNext: boolean
+  totalElements: number | null
+}
+
+// One page of a keyset-paginated list; cursor is the previous page's nextCursor
+export type PageQuery = {
+  cursor?: string | null
+  size?: number
+  sortBy?: string
+  sortDirection?: 'ASC' | 'DESC'
+  includeTotal?: boolean
+}
+
+// Endpoint-specific query parameters; empty values are left out
+type PageFilters = Record<string, string | number | boolean | undefined>
+
+function pageQuery(query: PageQuery, filters: PageFilters) {
+  const searchParams = new URLSearchParams()
+  for (const [key, value] of Object.entries(filters)) {
+    if (value !== undefined && value !== '') searchParams.append(key, String(value))
+  }
+  if (query.cursor) searchParams.append('cursor', query.cursor)
+  if (query.size) searchParams.append('size', String(query.size))
+  if (query.sortBy) searchParams.append('sortBy', query.sortBy)
+  if (query.sortDirection) searchParams.append('sortDirection', query.sortDirection)
+  if (query.includeTotal) searchParams.append('includeTotal', 'true')
+  return searchParams.toString()
+}
+
 export const api = {
   get: <T>(endpoint: string) => request<T>(endpoint),
+  page: <T>(endpoint: string, query: PageQuery, filters: PageFilters = {}) =>
+    request<KeysetPage<T>>(`${endpoint}?${pageQuery(query, filters)}`),
   post: <T>(endpoint: string, body: unknown) => request<T>(endpoint, { method: 'POST', body }),
   put: <T>(endpoint: string, body: unknown) => request<T>(endpoint, { method: 'PUT', body }),
   delete: <T>(endpoint: string) => request<T>(endpoint, { method: 'DELETE' }),
@@ -0,0 +1,80 @@
+import { useCallback, useEffect, useState } from 'react'
+import type { KeysetPage, PageQuery } from './api'
+
+// Page navigation a table renders below its rows
+export type KeysetPagination = {
+  total: number | null
+  pageNumber: number
+  pageSize: number
+  hasNext: boolean
+  hasPrevious: boolean
+  nextPage: () => void
+  previousPage: () => void
+}
+
+/**
+ * Custom hook for a server-paginated list
+ * @param fetchPage loads one page; a new function (e.g. after a filter change) restarts at page 1
+ * @param onError called when a page fails to load
+ * @param pageSize rows per page
+ * @returns The rows of the current page and Prev/Next navigation over the server's cursors.
+ * @example const { items, nextPage } = useKeysetPages(fetchRooms, onRoomsError)
+ */
+export default function useKeysetPages<T>(
+  fetchPage: (query: PageQuery) => Promise<KeysetPage<T>>,
+  onError: (error: unknown) => void,
+  pageSize: number = 10
+) {
+  const [items, setItems] = useState<T[]>([])
+  const [loading, setLoading] = useState(true)
+  // Cursor of every page up to the current one; the first page has none
+  const [cursors, setCursors] = useState<(string | null)[]>([null])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [total, setTotal] = useState<number | null>(null)
+
+  const loadPage = useCallback(
+    async (stack: (string | null)[]) => {
+      const cursor = stack[stack.length - 1]
+      try {
+        setLoading(true)
+        // Counting costs the server a second query, so only the first page asks for it
+        const page = await fetchPage({ cursor, size: pageSize, includeTotal: cursor === null })
+        setItems(page.content)
+        setNextCursor(page.hasNext ? page.nextCursor : null)
+        if (page.totalElements !== null) setTotal(page.totalElements)
+        setCursors(stack)
+      } catch (error) {
+        onError(error)
+      } finally {
+        setLoading(false)
+      }
+    },
+    [fetchPage, onError, pageSize]
+  )
+
+  useEffect(() => {
+    loadPage([null])
+  }, [loadPage])
+
+  const nextPage = () => {
+    if (nextCursor) loadPage([...cursors, nextCursor])
+  }
+
+  const previousPage = () => {
+    if (cursors.length > 1) loadPage(cursors.slice(0, -1))
+  }
+
+  return {
+    items,
+    setItems,
+    loading,
+    total,
+    pageNumber: cursors.length,
+    pageSize,
+    hasNext: nextCursor !== null,
+    hasPrevious: cursors.length > 1,
+    nextPage,
+    previousPage,
+    reload: () => loadPage(cursors)
+  }
+}
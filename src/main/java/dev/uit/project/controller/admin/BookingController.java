@@ -3,15 +3,19 @@ package dev.uit.project.controller.admin;
 import dev.uit.project.domain.Booking;
 import dev.uit.project.domain.dto.*;
 import dev.uit.project.service.BookingService;
+import dev.uit.project.service.BulkBookingService;
+import dev.uit.project.service.ExportService;
+import dev.uit.project.service.GroupBookingService;
+import dev.uit.project.service.booking.BookingStateTransitionJob;
+import dev.uit.project.service.export.ExportFormat;
+import dev.uit.project.service.pagination.KeysetRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -22,31 +26,49 @@ import java.util.Map;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final ExportService exportService;
+    private final GroupBookingService groupBookingService;
+    private final BulkBookingService bulkBookingService;
+    private final BookingStateTransitionJob stateTransitionJob;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, ExportService exportService,
+                             GroupBookingService groupBookingService,
+                             BulkBookingService bulkBookingService,
+                             BookingStateTransitionJob stateTransitionJob) {
         this.bookingService = bookingService;
+        this.exportService = exportService;
+        this.groupBookingService = groupBookingService;
+        this.bulkBookingService = bulkBookingService;
+        this.stateTransitionJob = stateTransitionJob;
     }
 
     @GetMapping
-    public ResponseEntity<Page<BookingDTO>> getAllBookings(
+    public ResponseEntity<KeysetPage<BookingDTO>> getAllBookings(
             @RequestParam(required = false) Booking.BookingStatus status,
             @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String search,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, sortBy);
-        Pageable pageable;
-        
-        if (size == null || size <= 0) {
-            pageable = Pageable.unpaged();
-        } else {
-            pageable = PageRequest.of(page, size, sort);
-        }
-        return ResponseEntity.ok(bookingService.getAllBookings(status, customerId, startDate, endDate, pageable));
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetRequest request = KeysetRequest.of(cursor, size, sortBy, sortDirection, includeTotal);
+        return ResponseEntity.ok(bookingService.getAllBookings(status, customerId, search, startDate, endDate, request));
+    }
+
+    @GetMapping("/export")
+    public void exportBookings(
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportFormat.applyHeaders(response, "bookings");
+        exportService.exportBookings(status, customerId, startDate, endDate, exportFormat, response.getWriter());
     }
 
     @GetMapping("/{id}")
@@ -59,6 +81,24 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.createBooking(request));
     }
 
+    @PostMapping("/group")
+    public ResponseEntity<List<BookingDTO>> createGroupBooking(@Valid @RequestBody GroupBookingRequest request) {
+        return ResponseEntity.ok(groupBookingService.createGroupBooking(request));
+    }
+
+    /**
+     * Runs the daily state transitions now instead of waiting for the schedule.
+     */
+    @PostMapping("/state-transitions")
+    public ResponseEntity<StateTransitionResult> runStateTransitions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date != null && date.isAfter(today)) {
+            throw new IllegalArgumentException("date must not be in the future");
+        }
+        return ResponseEntity.ok(stateTransitionJob.run(date != null ? date : today));
+    }
+
     @PutMapping("/{id}/confirm")
     public ResponseEntity<BookingDTO> confirmBooking(@PathVariable Long id) {
         return ResponseEntity.ok(bookingService.confirmBooking(id));
@@ -71,6 +111,22 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.cancelBooking(id, reason));
     }
 
+    @PutMapping("/bulk/confirm")
+    public ResponseEntity<BulkBookingResult> confirmBookings(@Valid @RequestBody BulkBookingRequest request) {
+        return ResponseEntity.ok(bulkBookingService.confirmBookings(request.getIds()));
+    }
+
+    @PutMapping("/bulk/cancel")
+    public ResponseEntity<BulkBookingResult> cancelBookings(@Valid @RequestBody BulkBookingRequest request) {
+        return ResponseEntity.ok(bulkBookingService.cancelBookings(request.getIds(), request.getReason()));
+    }
+
+    @PutMapping("/bulk/status")
+    public ResponseEntity<BulkBookingResult> updateBookingStatuses(@Valid @RequestBody BulkBookingRequest request) {
+        return ResponseEntity.ok(bulkBookingService.updateStatus(request.getIds(), request.getStatus(),
+                request.getReason()));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BookingDTO> updateBooking(@PathVariable Long id,
                                                      @Valid @RequestBody UpdateBookingRequest request) {
@@ -2,41 +2,51 @@ package dev.uit.project.controller.admin;
 
 import dev.uit.project.domain.dto.*;
 import dev.uit.project.service.CustomerService;
+import dev.uit.project.service.ExportService;
+import dev.uit.project.service.export.ExportFormat;
+import dev.uit.project.service.pagination.KeysetRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/admin/customers")
 @CrossOrigin(origins = "*")
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final ExportService exportService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ExportService exportService) {
         this.customerService = customerService;
+        this.exportService = exportService;
     }
 
     @GetMapping
-    public ResponseEntity<Page<CustomerDTO>> getAllCustomers(
+    public ResponseEntity<KeysetPage<CustomerDTO>> getAllCustomers(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Boolean isVIP,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Pageable pageable;
-        if (size == null || size <= 0) {
-            pageable = Pageable.unpaged();
-        } else {
-            pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        }
-        return ResponseEntity.ok(customerService.getAllCustomers(search, isVIP, pageable));
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetRequest request = KeysetRequest.of(cursor, size, sortBy, sortDirection, includeTotal);
+        return ResponseEntity.ok(customerService.getAllCustomers(search, isVIP, request));
+    }
+
+    @GetMapping("/export")
+    public void exportCustomers(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Boolean isVIP,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        exportFormat.applyHeaders(response, "customers");
+        exportService.exportCustomers(search, isVIP, exportFormat, response.getWriter());
     }
 
     @GetMapping("/{id}")
@@ -56,17 +66,13 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}/bookings")
-    public ResponseEntity<Page<BookingDTO>> getCustomerBookings(
+    public ResponseEntity<KeysetPage<BookingDTO>> getCustomerBookings(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(required = false) Integer size) {
-        Pageable pageable;
-        if (size == null || size <= 0) {
-            pageable = Pageable.unpaged();
-        } else {
-            pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        }
-        return ResponseEntity.ok(customerService.getCustomerBookings(id, pageable));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetRequest request = KeysetRequest.of(cursor, size, "createdAt", "DESC", includeTotal);
+        return ResponseEntity.ok(customerService.getCustomerBookings(id, request));
     }
 
     @GetMapping("/{id}/stats")
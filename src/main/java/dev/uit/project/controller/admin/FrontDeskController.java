@@ -0,0 +1,27 @@
+package dev.uit.project.controller.admin;
+
+import dev.uit.project.service.frontdesk.FrontDeskEventStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/admin/front-desk")
+@CrossOrigin(origins = "*")
+public class FrontDeskController {
+
+    private final FrontDeskEventStream frontDeskEventStream;
+
+    public FrontDeskController(FrontDeskEventStream frontDeskEventStream) {
+        this.frontDeskEventStream = frontDeskEventStream;
+    }
+
+    /**
+     * Stream of "room" and "booking" delta events. Reconnecting clients resume via Last-Event-ID;
+     * a "resync" event means changes were missed and the lists should be reloaded.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return frontDeskEventStream.subscribe(lastEventId);
+    }
+}
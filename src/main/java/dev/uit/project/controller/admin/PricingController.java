@@ -1,7 +1,9 @@
 package dev.uit.project.controller.admin;
 
 import dev.uit.project.domain.dto.*;
+import dev.uit.project.domain.dto.pricing.PriceQuote;
 import dev.uit.project.service.PricingService;
+import dev.uit.project.service.pricing.PriceQuoteService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -18,9 +20,30 @@ import java.util.Map;
 public class PricingController {
 
     private final PricingService pricingService;
+    private final PriceQuoteService priceQuoteService;
 
-    public PricingController(PricingService pricingService) {
+    public PricingController(PricingService pricingService, PriceQuoteService priceQuoteService) {
         this.pricingService = pricingService;
+        this.priceQuoteService = priceQuoteService;
+    }
+
+    // Quotes
+    @GetMapping("/pricing/quote")
+    public ResponseEntity<PriceQuote> getQuote(
+            @RequestParam Long roomTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) String promoCode) {
+        return ResponseEntity.ok(priceQuoteService.quote(roomTypeId, checkInDate, checkOutDate, promoCode));
+    }
+
+    @GetMapping("/pricing/quotes")
+    public ResponseEntity<List<PriceQuote>> getQuotes(
+            @RequestParam(required = false) List<Long> roomTypeIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) String promoCode) {
+        return ResponseEntity.ok(priceQuoteService.quoteAll(roomTypeIds, checkInDate, checkOutDate, promoCode));
     }
 
     // Seasonal Pricing
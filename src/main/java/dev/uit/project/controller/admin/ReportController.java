@@ -1,12 +1,19 @@
 package dev.uit.project.controller.admin;
 
+import dev.uit.project.domain.dto.report.*;
+import dev.uit.project.service.DailyBookingStatsService;
+import dev.uit.project.service.ExportService;
 import dev.uit.project.service.ReportService;
+import dev.uit.project.service.export.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,13 +23,18 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final DailyBookingStatsService dailyBookingStatsService;
+    private final ExportService exportService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, DailyBookingStatsService dailyBookingStatsService,
+                            ExportService exportService) {
         this.reportService = reportService;
+        this.dailyBookingStatsService = dailyBookingStatsService;
+        this.exportService = exportService;
     }
 
     @GetMapping("/revenue")
-    public ResponseEntity<Map<String, Object>> getRevenueReport(
+    public ResponseEntity<RevenueReport> getRevenueReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(defaultValue = "MONTH") String groupBy) {
@@ -30,55 +42,52 @@ public class ReportController {
     }
 
     @GetMapping("/occupancy")
-    public ResponseEntity<Map<String, Object>> getOccupancyReport(
+    public ResponseEntity<OccupancyReport> getOccupancyReport(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(reportService.getOccupancyReport(startDate, endDate));
     }
 
     @GetMapping("/booking-trends")
-    public ResponseEntity<Map<String, Object>> getBookingTrends(
+    public ResponseEntity<BookingTrends> getBookingTrends(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(reportService.getBookingTrends(startDate, endDate));
     }
 
     @GetMapping("/dashboard")
-    public ResponseEntity<Map<String, Object>> getDashboardOverview() {
+    public ResponseEntity<DashboardOverview> getDashboardOverview() {
         return ResponseEntity.ok(reportService.getDashboardOverview());
     }
 
     // New endpoints for dashboard and reports
 
     @GetMapping("/overview")
-    public ResponseEntity<Map<String, Object>> getOverview() {
+    public ResponseEntity<DashboardOverview> getOverview() {
         return ResponseEntity.ok(reportService.getDashboardOverview());
     }
 
     @GetMapping("/trends")
-    public ResponseEntity<List<Map<String, Object>>> getTrends(
+    public ResponseEntity<TrendSeries> getTrends(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        Map<String, Object> result = reportService.getBookingTrends(startDate, endDate);
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> trends = (List<Map<String, Object>>) result.get("trends");
-        return ResponseEntity.ok(trends);
+        return ResponseEntity.ok(reportService.getTrendSeries(startDate, endDate));
     }
 
     @GetMapping("/monthly-revenue")
-    public ResponseEntity<List<Map<String, Object>>> getMonthlyRevenue(
+    public ResponseEntity<List<MonthlyRevenue>> getMonthlyRevenue(
             @RequestParam(defaultValue = "12") int months) {
         return ResponseEntity.ok(reportService.getMonthlyRevenue(months));
     }
 
     @GetMapping("/recent-bookings")
-    public ResponseEntity<List<Map<String, Object>>> getRecentBookings(
+    public ResponseEntity<List<RecentBooking>> getRecentBookings(
             @RequestParam(defaultValue = "5") int limit) {
         return ResponseEntity.ok(reportService.getRecentBookings(limit));
     }
 
     @GetMapping("/occupancy-today")
-    public ResponseEntity<Map<String, Object>> getOccupancyToday(
+    public ResponseEntity<OccupancySnapshot> getOccupancyToday(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
         return ResponseEntity.ok(reportService.getDetailedOccupancy(targetDate));
@@ -92,29 +101,70 @@ public class ReportController {
     }
 
     @GetMapping("/rooms-by-type")
-    public ResponseEntity<List<Map<String, Object>>> getRoomsByType() {
+    public ResponseEntity<List<RoomTypeCount>> getRoomsByType() {
         return ResponseEntity.ok(reportService.getRoomsByType());
     }
 
     @GetMapping("/rooms-by-status")
-    public ResponseEntity<List<Map<String, Object>>> getRoomsByStatus() {
+    public ResponseEntity<List<StatusCount>> getRoomsByStatus() {
         return ResponseEntity.ok(reportService.getRoomsByStatus());
     }
 
     @GetMapping("/bookings-by-status")
-    public ResponseEntity<List<Map<String, Object>>> getBookingsByStatus() {
+    public ResponseEntity<List<StatusCount>> getBookingsByStatus() {
         return ResponseEntity.ok(reportService.getBookingsByStatus());
     }
 
     @GetMapping("/revenue-by-room-type")
-    public ResponseEntity<List<Map<String, Object>>> getRevenueByRoomType() {
+    public ResponseEntity<List<RoomTypeRevenue>> getRevenueByRoomType() {
         return ResponseEntity.ok(reportService.getRevenueByRoomType());
     }
 
     @GetMapping("/popular-room-types")
-    public ResponseEntity<List<Map<String, Object>>> getPopularRoomTypes(
+    public ResponseEntity<List<RoomTypeBookings>> getPopularRoomTypes(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(reportService.getPopularRoomTypes(startDate, endDate));
     }
+
+    @GetMapping("/{report}/export")
+    public void exportReport(
+            @PathVariable String report,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "MONTH") String groupBy,
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ReportTable rows = exportService.loadReport(report, startDate, endDate, groupBy, months);
+        exportFormat.applyHeaders(response, report);
+        exportService.exportReport(rows, exportFormat, response.getWriter());
+    }
+
+    /**
+     * Recomputes the daily stats rollup for the range, or for all dates when no range is given, and
+     * reloads the in-memory booking facts, so every report is rebuilt from the bookings table. A range
+     * needs both dates; one of them alone is rejected rather than taken as a full rebuild.
+     */
+    @PostMapping("/daily-stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildDailyStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new IllegalArgumentException("startDate and endDate must be given together");
+        }
+        int rows;
+        if (startDate != null) {
+            rows = dailyBookingStatsService.rebuild(startDate, endDate);
+        } else {
+            rows = dailyBookingStatsService.rebuildAll();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("startDate", startDate);
+        body.put("endDate", endDate);
+        body.put("rows", rows);
+        body.put("bookingFacts", reportService.reloadBookingFacts());
+        return ResponseEntity.ok(body);
+    }
 }
@@ -2,12 +2,11 @@ package dev.uit.project.controller.admin;
 
 import dev.uit.project.domain.Room;
 import dev.uit.project.domain.dto.*;
+import dev.uit.project.domain.dto.availability.AvailabilityGrid;
+import dev.uit.project.domain.dto.availability.RoomTypeAvailability;
 import dev.uit.project.service.RoomService;
+import dev.uit.project.service.pagination.KeysetRequest;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -49,23 +48,17 @@ public class RoomController {
 
     // Room endpoints
     @GetMapping("/rooms")
-    public ResponseEntity<Page<RoomDTO>> getAllRooms(
+    public ResponseEntity<KeysetPage<RoomDTO>> getAllRooms(
             @RequestParam(required = false) Room.RoomStatus status,
             @RequestParam(required = false) Long roomTypeId,
             @RequestParam(required = false) Integer floor,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) Integer size,
             @RequestParam(defaultValue = "roomNumber") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
-        Sort.Direction direction = sortDirection.equalsIgnoreCase("ASC") ? Sort.Direction.ASC : Sort.Direction.DESC;
-        Sort sort = Sort.by(direction, sortBy);
-        Pageable pageable;
-        if (size == null || size <= 0) {
-            pageable = Pageable.unpaged();
-        } else {
-            pageable = PageRequest.of(page, size, sort);
-        }
-        return ResponseEntity.ok(roomService.getAllRooms(status, roomTypeId, floor, pageable));
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        KeysetRequest request = KeysetRequest.of(cursor, size, sortBy, sortDirection, includeTotal);
+        return ResponseEntity.ok(roomService.getAllRooms(status, roomTypeId, floor, request));
     }
 
     @PostMapping("/rooms/bulk")
@@ -86,4 +79,23 @@ public class RoomController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
         return ResponseEntity.ok(roomService.getAvailableRooms(checkInDate, checkOutDate));
     }
+
+    @GetMapping("/rooms/availability/by-type")
+    public ResponseEntity<List<RoomTypeAvailability>> getAvailabilityByRoomType(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+        return ResponseEntity.ok(roomService.getAvailabilityByRoomType(checkInDate, checkOutDate));
+    }
+
+    @GetMapping("/rooms/availability/grid")
+    public ResponseEntity<AvailabilityGrid> getAvailabilityGrid(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(roomService.getAvailabilityGrid(startDate, endDate));
+    }
+
+    @PostMapping("/rooms/availability/consistency-check")
+    public ResponseEntity<Map<String, Object>> checkAvailabilityIndex() {
+        return ResponseEntity.ok(roomService.checkAvailabilityIndex());
+    }
 }
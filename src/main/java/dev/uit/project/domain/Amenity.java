@@ -10,7 +10,7 @@ public class Amenity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "amenity_seq")
-    @SequenceGenerator(name = "amenity_seq", sequenceName = "AMENITY_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "amenity_seq", sequenceName = "AMENITY_SEQ", allocationSize = 50)
     private Long id;
 
     @NotBlank
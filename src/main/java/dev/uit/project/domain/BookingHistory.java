@@ -11,7 +11,7 @@ public class BookingHistory {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_history_seq")
-    @SequenceGenerator(name = "booking_history_seq", sequenceName = "BOOKING_HISTORY_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "booking_history_seq", sequenceName = "BOOKING_HISTORY_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
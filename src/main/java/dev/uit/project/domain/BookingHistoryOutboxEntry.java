@@ -0,0 +1,87 @@
+package dev.uit.project.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking history record not yet moved to {@code booking_history}. Written in the booking's own
+ * transaction and drained in batches by {@link dev.uit.project.service.booking.BookingHistoryOutbox}.
+ */
+@Entity
+@Table(name = "booking_history_outbox")
+public class BookingHistoryOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_history_outbox_seq")
+    @SequenceGenerator(name = "booking_history_outbox_seq", sequenceName = "BOOKING_HISTORY_OUTBOX_SEQ", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false, length = 50)
+    private String action;
+
+    @Column(name = "performed_by", length = 100)
+    private String performedBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 500)
+    private String notes;
+
+    public BookingHistoryOutboxEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getPerformedBy() {
+        return performedBy;
+    }
+
+    public void setPerformedBy(String performedBy) {
+        this.performedBy = performedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
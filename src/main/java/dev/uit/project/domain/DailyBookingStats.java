@@ -0,0 +1,98 @@
+package dev.uit.project.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_booking_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"stat_date", "room_type_id"})
+})
+public class DailyBookingStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_booking_stats_seq")
+    @SequenceGenerator(name = "daily_booking_stats_seq", sequenceName = "DAILY_BOOKING_STATS_SEQ", allocationSize = 1)
+    private Long id;
+
+    @NotNull
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate date;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id", nullable = false)
+    private RoomType roomType;
+
+    @Column(name = "bookings_created", nullable = false)
+    private Long bookingsCreated = 0L;
+
+    @Column(name = "checkout_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal checkoutRevenue = BigDecimal.ZERO;
+
+    @Column(name = "occupied_room_nights", nullable = false)
+    private Long occupiedRoomNights = 0L;
+
+    @Column(nullable = false)
+    private Long cancellations = 0L;
+
+    public DailyBookingStats() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public Long getBookingsCreated() {
+        return bookingsCreated;
+    }
+
+    public void setBookingsCreated(Long bookingsCreated) {
+        this.bookingsCreated = bookingsCreated;
+    }
+
+    public BigDecimal getCheckoutRevenue() {
+        return checkoutRevenue;
+    }
+
+    public void setCheckoutRevenue(BigDecimal checkoutRevenue) {
+        this.checkoutRevenue = checkoutRevenue;
+    }
+
+    public Long getOccupiedRoomNights() {
+        return occupiedRoomNights;
+    }
+
+    public void setOccupiedRoomNights(Long occupiedRoomNights) {
+        this.occupiedRoomNights = occupiedRoomNights;
+    }
+
+    public Long getCancellations() {
+        return cancellations;
+    }
+
+    public void setCancellations(Long cancellations) {
+        this.cancellations = cancellations;
+    }
+}
@@ -15,7 +15,7 @@ public class DailyPrice {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_price_seq")
-    @SequenceGenerator(name = "daily_price_seq", sequenceName = "DAILY_PRICE_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "daily_price_seq", sequenceName = "DAILY_PRICE_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -13,7 +13,7 @@ public class Policy {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policy_seq")
-    @SequenceGenerator(name = "policy_seq", sequenceName = "POLICY_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "policy_seq", sequenceName = "POLICY_SEQ", allocationSize = 50)
     private Long id;
 
     @NotNull
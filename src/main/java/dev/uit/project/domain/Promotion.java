@@ -15,7 +15,7 @@ public class Promotion {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "promotion_seq")
-    @SequenceGenerator(name = "promotion_seq", sequenceName = "PROMOTION_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "promotion_seq", sequenceName = "PROMOTION_SEQ", allocationSize = 50)
     private Long id;
 
     @NotBlank
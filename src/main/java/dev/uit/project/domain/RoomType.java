@@ -19,7 +19,7 @@ public class RoomType {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_type_seq")
-    @SequenceGenerator(name = "room_type_seq", sequenceName = "ROOM_TYPE_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "room_type_seq", sequenceName = "ROOM_TYPE_SEQ", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -15,7 +15,7 @@ public class SeasonalPrice {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seasonal_price_seq")
-    @SequenceGenerator(name = "seasonal_price_seq", sequenceName = "SEASONAL_PRICE_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "seasonal_price_seq", sequenceName = "SEASONAL_PRICE_SEQ", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
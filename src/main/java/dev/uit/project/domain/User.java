@@ -20,7 +20,7 @@ public class User {
 
 	@Id
 	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
-	@SequenceGenerator(name = "user_seq", sequenceName = "USER_SEQ", allocationSize = 1)
+	@SequenceGenerator(name = "user_seq", sequenceName = "USER_SEQ", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "first_name", nullable = false, length = 100)
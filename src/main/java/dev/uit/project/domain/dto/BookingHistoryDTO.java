@@ -1,6 +1,7 @@
 package dev.uit.project.domain.dto;
 
 import dev.uit.project.domain.BookingHistory;
+import dev.uit.project.domain.BookingHistoryOutboxEntry;
 
 import java.time.LocalDateTime;
 
@@ -26,6 +27,19 @@ public class BookingHistoryDTO {
         return dto;
     }
 
+    /**
+     * A record not yet moved to booking_history has no history id.
+     */
+    public static BookingHistoryDTO fromOutboxEntry(BookingHistoryOutboxEntry entry) {
+        BookingHistoryDTO dto = new BookingHistoryDTO();
+        dto.setBookingId(entry.getBookingId());
+        dto.setAction(entry.getAction());
+        dto.setPerformedBy(entry.getPerformedBy());
+        dto.setTimestamp(entry.getCreatedAt());
+        dto.setNotes(entry.getNotes());
+        return dto;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Long getBookingId() { return bookingId; }
@@ -0,0 +1,26 @@
+package dev.uit.project.domain.dto;
+
+import dev.uit.project.domain.Booking;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkBookingRequest {
+
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = 1000, message = "At most 1000 bookings per request")
+    private List<Long> ids;
+
+    // Target status, only for the status endpoint
+    private Booking.BookingStatus status;
+
+    private String reason;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,17 @@
+package dev.uit.project.domain.dto;
+
+import dev.uit.project.domain.Booking;
+
+import java.util.List;
+
+/**
+ * Per-booking outcome of a bulk operation, in request order.
+ */
+public record BulkBookingResult(int succeeded, int failed, List<Outcome> results) {
+
+    /**
+     * @param status the new status on success, the unchanged status on failure (null if not found)
+     */
+    public record Outcome(Long bookingId, boolean success, Booking.BookingStatus status, String error) {
+    }
+}
@@ -0,0 +1,58 @@
+package dev.uit.project.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public class GroupBookingRequest {
+
+    @NotNull(message = "Customer ID is required")
+    private Long customerId;
+
+    @NotNull(message = "Check-in date is required")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "Check-out date is required")
+    private LocalDate checkOutDate;
+
+    @NotEmpty(message = "At least one room type is required")
+    @Valid
+    private List<RoomTypeQuantity> rooms;
+
+    private String specialRequests;
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+    public LocalDate getCheckInDate() { return checkInDate; }
+    public void setCheckInDate(LocalDate checkInDate) { this.checkInDate = checkInDate; }
+    public LocalDate getCheckOutDate() { return checkOutDate; }
+    public void setCheckOutDate(LocalDate checkOutDate) { this.checkOutDate = checkOutDate; }
+    public List<RoomTypeQuantity> getRooms() { return rooms; }
+    public void setRooms(List<RoomTypeQuantity> rooms) { this.rooms = rooms; }
+    public String getSpecialRequests() { return specialRequests; }
+    public void setSpecialRequests(String specialRequests) { this.specialRequests = specialRequests; }
+
+    public static class RoomTypeQuantity {
+        @NotNull(message = "Room type ID is required")
+        private Long roomTypeId;
+
+        @NotNull
+        @Min(1)
+        private Integer quantity;
+
+        // Price per room for the whole stay; defaults to the room type's quoted price for the stay
+        private BigDecimal totalPricePerRoom;
+
+        public Long getRoomTypeId() { return roomTypeId; }
+        public void setRoomTypeId(Long roomTypeId) { this.roomTypeId = roomTypeId; }
+        public Integer getQuantity() { return quantity; }
+        public void setQuantity(Integer quantity) { this.quantity = quantity; }
+        public BigDecimal getTotalPricePerRoom() { return totalPricePerRoom; }
+        public void setTotalPricePerRoom(BigDecimal totalPricePerRoom) { this.totalPricePerRoom = totalPricePerRoom; }
+    }
+}
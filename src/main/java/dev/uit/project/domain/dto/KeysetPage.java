@@ -0,0 +1,10 @@
+package dev.uit.project.domain.dto;
+
+import java.util.List;
+
+/**
+ * One page of a list read with keyset pagination. Pass {@code nextCursor} back as {@code cursor} to
+ * read the next page; it is null on the last page. {@code totalElements} is only counted on request.
+ */
+public record KeysetPage<T>(List<T> content, int size, String nextCursor, boolean hasNext, Long totalElements) {
+}
@@ -0,0 +1,10 @@
+package dev.uit.project.domain.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one run of the daily state transition job.
+ */
+public record StateTransitionResult(LocalDate businessDate, int checkedOut, int noShows, int roomsUpdated,
+                                    long elapsedMs) {
+}
@@ -0,0 +1,27 @@
+package dev.uit.project.domain.dto.availability;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Room x day occupancy for [startDate, endDate]. Each room lists only its booked runs; a day that is
+ * not covered by a segment is free.
+ */
+public record AvailabilityGrid(LocalDate startDate, LocalDate endDate, int days, List<RoomRow> rooms) {
+
+    public record RoomRow(Long roomId, String roomNumber, Integer floor, String roomType, String roomStatus,
+                          List<Segment> segments) {
+    }
+
+    /**
+     * A run of {@code length} consecutive days from column {@code start} (0 = startDate) held by one booking.
+     * Serialized as {@code [start, length, bookingId, status]}.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"start", "length", "bookingId", "status"})
+    public record Segment(int start, int length, long bookingId, String status) {
+    }
+}
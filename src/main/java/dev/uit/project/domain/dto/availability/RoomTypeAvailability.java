@@ -0,0 +1,9 @@
+package dev.uit.project.domain.dto.availability;
+
+/**
+ * Free rooms of one type for a stay: {@code availableRooms} are free for every night,
+ * {@code minFreeRooms} is the lowest per-night free count (rooms could be combined by switching).
+ */
+public record RoomTypeAvailability(Long roomTypeId, String roomType, int totalRooms, int availableRooms,
+                                   int minFreeRooms) {
+}
@@ -0,0 +1,13 @@
+package dev.uit.project.domain.dto.frontdesk;
+
+import dev.uit.project.domain.Booking;
+
+import java.time.LocalDate;
+
+/**
+ * Current state of one booking on the front-desk board; everything but {@code bookingId} is null once
+ * the booking is deleted.
+ */
+public record BookingDelta(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate,
+                           Booking.BookingStatus status) {
+}
@@ -0,0 +1,10 @@
+package dev.uit.project.domain.dto.frontdesk;
+
+import dev.uit.project.domain.Room;
+
+/**
+ * Current state of one room on the front-desk board; everything but {@code roomId} is null once the
+ * room is deleted.
+ */
+public record RoomDelta(Long roomId, String roomNumber, Integer floor, Room.RoomStatus status) {
+}
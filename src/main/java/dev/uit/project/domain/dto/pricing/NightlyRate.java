@@ -0,0 +1,17 @@
+package dev.uit.project.domain.dto.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Price of one night of a quote. {@code rule} names the seasonal price or gives the daily price's
+ * reason; it is null for the base price.
+ */
+public record NightlyRate(LocalDate date, BigDecimal price, Source source, String rule) {
+
+    public enum Source {
+        BASE,
+        SEASONAL,
+        DAILY
+    }
+}
@@ -0,0 +1,14 @@
+package dev.uit.project.domain.dto.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Price of a stay in one room type. A promotion code that does not apply leaves the discount at zero
+ * and says why in {@code promotionError}.
+ */
+public record PriceQuote(Long roomTypeId, String roomType, LocalDate checkInDate, LocalDate checkOutDate,
+                         int nights, List<NightlyRate> nightlyRates, BigDecimal subtotal,
+                         String promotionCode, BigDecimal discount, BigDecimal total, String promotionError) {
+}
@@ -0,0 +1,23 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts in report series are kept as long cents to avoid one BigDecimal per point.
+ */
+public final class Cents {
+
+    private Cents() {
+    }
+
+    public static long of(Object amount) {
+        if (amount == null) return 0;
+        BigDecimal decimal = amount instanceof BigDecimal value ? value : new BigDecimal(amount.toString());
+        return decimal.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
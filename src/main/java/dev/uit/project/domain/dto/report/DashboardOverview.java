@@ -0,0 +1,16 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record DashboardOverview(long totalRooms, long totalCustomers, long totalBookings,
+                                BigDecimal monthlyRevenue, BigDecimal totalRevenue,
+                                long occupiedRooms, long availableRooms, BigDecimal occupancyRate,
+                                double revenueGrowth, long todayBookings,
+                                Instant snapshotAt, Long snapshotAgeMs) {
+
+    public DashboardOverview withSnapshot(Instant computedAt, long ageMs) {
+        return new DashboardOverview(totalRooms, totalCustomers, totalBookings, monthlyRevenue, totalRevenue,
+                occupiedRooms, availableRooms, occupancyRate, revenueGrowth, todayBookings, computedAt, ageMs);
+    }
+}
@@ -0,0 +1,6 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+
+public record MonthlyRevenue(String month, int year, BigDecimal revenue, long bookings) {
+}
@@ -0,0 +1,4 @@
+package dev.uit.project.domain.dto.report;
+
+public record OccupancyReport(long totalRooms, OccupancySeries daily) {
+}
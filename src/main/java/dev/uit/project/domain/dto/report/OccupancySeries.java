@@ -0,0 +1,77 @@
+package dev.uit.project.domain.dto.report;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupied rooms per day from {@code startDate}, backed by a single long array.
+ * Serialized as {@code [{date, totalRooms, occupiedRooms, occupancyRate}, ...]}.
+ */
+@JsonSerialize(using = OccupancySeries.Serializer.class)
+public final class OccupancySeries implements ReportTable {
+
+    private final long startEpochDay;
+    private final long totalRooms;
+    private final long[] occupied;
+
+    public OccupancySeries(LocalDate startDate, long totalRooms, long[] occupied) {
+        this.startEpochDay = startDate.toEpochDay();
+        this.totalRooms = totalRooms;
+        this.occupied = occupied;
+    }
+
+    public int size() {
+        return occupied.length;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(startEpochDay + index);
+    }
+
+    public long occupiedRooms(int index) {
+        return occupied[index];
+    }
+
+    public BigDecimal occupancyRate(int index) {
+        double rate = totalRooms > 0 ? (double) occupied[index] / totalRooms * 100 : 0;
+        return BigDecimal.valueOf(rate).setScale(1, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public List<String> columns() {
+        return List.of("date", "totalRooms", "occupiedRooms", "occupancyRate");
+    }
+
+    @Override
+    public int rowCount() {
+        return size();
+    }
+
+    @Override
+    public Object[] row(int index) {
+        return new Object[]{date(index), totalRooms, occupied[index], occupancyRate(index)};
+    }
+
+    public static class Serializer extends ValueSerializer<OccupancySeries> {
+        @Override
+        public void serialize(OccupancySeries series, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartArray();
+            for (int i = 0; i < series.size(); i++) {
+                gen.writeStartObject();
+                gen.writeStringProperty("date", series.date(i).toString());
+                gen.writeNumberProperty("totalRooms", series.totalRooms);
+                gen.writeNumberProperty("occupiedRooms", series.occupiedRooms(i));
+                gen.writeNumberProperty("occupancyRate", series.occupancyRate(i));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
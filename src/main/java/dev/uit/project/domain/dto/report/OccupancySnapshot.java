@@ -0,0 +1,8 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record OccupancySnapshot(LocalDate date, long totalRooms, long occupiedRooms, long availableRooms,
+                                BigDecimal occupancyRate) {
+}
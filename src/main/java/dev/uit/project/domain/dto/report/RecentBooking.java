@@ -0,0 +1,10 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record RecentBooking(Long id, String customerName, String customerEmail, String roomNumber,
+                            LocalDate checkInDate, LocalDate checkOutDate, BigDecimal totalPrice,
+                            String status, LocalDateTime createdAt) {
+}
@@ -0,0 +1,48 @@
+package dev.uit.project.domain.dto.report;
+
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes a list of report records as a table whose columns are the record components.
+ */
+public final class RecordTable<R extends Record> implements ReportTable {
+
+    private final List<R> rows;
+    private final RecordComponent[] components;
+    private final List<String> columns;
+
+    public RecordTable(Class<R> type, List<R> rows) {
+        this.rows = rows;
+        this.components = type.getRecordComponents();
+        this.columns = new ArrayList<>(components.length);
+        for (RecordComponent component : components) {
+            columns.add(component.getName());
+        }
+    }
+
+    @Override
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public int rowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public Object[] row(int index) {
+        R record = rows.get(index);
+        Object[] values = new Object[components.length];
+        try {
+            for (int i = 0; i < components.length; i++) {
+                values[i] = components[i].getAccessor().invoke(record);
+            }
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Cannot read report row", ex);
+        }
+        return values;
+    }
+}
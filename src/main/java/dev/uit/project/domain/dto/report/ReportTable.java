@@ -0,0 +1,15 @@
+package dev.uit.project.domain.dto.report;
+
+import java.util.List;
+
+/**
+ * Row-oriented view of a report result, used by the CSV/NDJSON exports.
+ */
+public interface ReportTable {
+
+    List<String> columns();
+
+    int rowCount();
+
+    Object[] row(int index);
+}
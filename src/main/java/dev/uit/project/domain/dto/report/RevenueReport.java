@@ -0,0 +1,8 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RevenueReport(LocalDate startDate, LocalDate endDate, BigDecimal totalRevenue,
+                            String groupBy, RevenueSeries breakdown) {
+}
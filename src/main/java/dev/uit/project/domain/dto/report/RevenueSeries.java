@@ -0,0 +1,73 @@
+package dev.uit.project.domain.dto.report;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Revenue per period, stored as parallel primitive arrays.
+ * Serialized as {@code [{startDate, endDate, revenue}, ...]}.
+ */
+@JsonSerialize(using = RevenueSeries.Serializer.class)
+public final class RevenueSeries implements ReportTable {
+
+    private final long[] startEpochDays;
+    private final long[] endEpochDays;
+    private final long[] revenueCents;
+
+    public RevenueSeries(long[] startEpochDays, long[] endEpochDays, long[] revenueCents) {
+        this.startEpochDays = startEpochDays;
+        this.endEpochDays = endEpochDays;
+        this.revenueCents = revenueCents;
+    }
+
+    public int size() {
+        return revenueCents.length;
+    }
+
+    public LocalDate startDate(int index) {
+        return LocalDate.ofEpochDay(startEpochDays[index]);
+    }
+
+    public LocalDate endDate(int index) {
+        return LocalDate.ofEpochDay(endEpochDays[index]);
+    }
+
+    public long revenueCents(int index) {
+        return revenueCents[index];
+    }
+
+    @Override
+    public List<String> columns() {
+        return List.of("startDate", "endDate", "revenue");
+    }
+
+    @Override
+    public int rowCount() {
+        return size();
+    }
+
+    @Override
+    public Object[] row(int index) {
+        return new Object[]{startDate(index), endDate(index), Cents.toDecimal(revenueCents[index])};
+    }
+
+    public static class Serializer extends ValueSerializer<RevenueSeries> {
+        @Override
+        public void serialize(RevenueSeries series, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartArray();
+            for (int i = 0; i < series.size(); i++) {
+                gen.writeStartObject();
+                gen.writeStringProperty("startDate", series.startDate(i).toString());
+                gen.writeStringProperty("endDate", series.endDate(i).toString());
+                gen.writeNumberProperty("revenue", Cents.toDecimal(series.revenueCents(i)));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
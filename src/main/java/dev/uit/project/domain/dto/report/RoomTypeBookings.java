@@ -0,0 +1,4 @@
+package dev.uit.project.domain.dto.report;
+
+public record RoomTypeBookings(String roomType, long bookingCount) {
+}
@@ -0,0 +1,4 @@
+package dev.uit.project.domain.dto.report;
+
+public record RoomTypeCount(String roomType, long count) {
+}
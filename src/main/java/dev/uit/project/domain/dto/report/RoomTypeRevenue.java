@@ -0,0 +1,6 @@
+package dev.uit.project.domain.dto.report;
+
+import java.math.BigDecimal;
+
+public record RoomTypeRevenue(String roomType, long bookingCount, BigDecimal revenue) {
+}
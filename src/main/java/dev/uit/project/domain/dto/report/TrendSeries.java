@@ -0,0 +1,73 @@
+package dev.uit.project.domain.dto.report;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bookings created and checkout revenue per day from {@code startDate}.
+ * Serialized as {@code [{date, bookingCount, revenue}, ...]}.
+ */
+@JsonSerialize(using = TrendSeries.Serializer.class)
+public final class TrendSeries implements ReportTable {
+
+    private final long startEpochDay;
+    private final long[] bookingCounts;
+    private final long[] revenueCents;
+
+    public TrendSeries(LocalDate startDate, long[] bookingCounts, long[] revenueCents) {
+        this.startEpochDay = startDate.toEpochDay();
+        this.bookingCounts = bookingCounts;
+        this.revenueCents = revenueCents;
+    }
+
+    public int size() {
+        return bookingCounts.length;
+    }
+
+    public LocalDate date(int index) {
+        return LocalDate.ofEpochDay(startEpochDay + index);
+    }
+
+    public long bookingCount(int index) {
+        return bookingCounts[index];
+    }
+
+    public long revenueCents(int index) {
+        return revenueCents[index];
+    }
+
+    @Override
+    public List<String> columns() {
+        return List.of("date", "bookingCount", "revenue");
+    }
+
+    @Override
+    public int rowCount() {
+        return size();
+    }
+
+    @Override
+    public Object[] row(int index) {
+        return new Object[]{date(index), bookingCounts[index], Cents.toDecimal(revenueCents[index])};
+    }
+
+    public static class Serializer extends ValueSerializer<TrendSeries> {
+        @Override
+        public void serialize(TrendSeries series, JsonGenerator gen, SerializationContext ctxt) {
+            gen.writeStartArray();
+            for (int i = 0; i < series.size(); i++) {
+                gen.writeStartObject();
+                gen.writeStringProperty("date", series.date(i).toString());
+                gen.writeNumberProperty("bookingCount", series.bookingCount(i));
+                gen.writeNumberProperty("revenue", Cents.toDecimal(series.revenueCents(i)));
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package dev.uit.project.repository;
+
+import dev.uit.project.domain.BookingHistoryOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BookingHistoryOutboxRepository extends JpaRepository<BookingHistoryOutboxEntry, Long> {
+    List<BookingHistoryOutboxEntry> findByBookingIdOrderByIdDesc(Long bookingId);
+}
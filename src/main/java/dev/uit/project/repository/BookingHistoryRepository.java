@@ -2,9 +2,19 @@ package dev.uit.project.repository;
 
 import dev.uit.project.domain.BookingHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
     List<BookingHistory> findByBookingIdOrderByTimestampDesc(Long bookingId);
+
+    @Query("SELECT YEAR(h.timestamp), MONTH(h.timestamp), DAY(h.timestamp), h.booking.room.roomType.id, COUNT(h) " +
+            "FROM BookingHistory h WHERE h.action IN ('CANCELLED', 'NO_SHOW') " +
+            "AND h.timestamp >= CAST(:startDate AS timestamp) AND h.timestamp < CAST(:endDate AS timestamp) " +
+            "GROUP BY YEAR(h.timestamp), MONTH(h.timestamp), DAY(h.timestamp), h.booking.room.roomType.id")
+    List<Object[]> countCancellationsByDayAndRoomType(@Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
 }
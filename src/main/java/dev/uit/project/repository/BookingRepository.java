@@ -1,16 +1,24 @@
 package dev.uit.project.repository;
 
 import dev.uit.project.domain.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
 
@@ -20,11 +28,6 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
 
     Page<Booking> findByCustomerId(Long customerId, Pageable pageable);
 
-    @Query("SELECT COALESCE(SUM(b.totalPrice), 0) FROM Booking b WHERE b.status != 'CANCELLED' " +
-            "AND b.checkOutDate BETWEEN :startDate AND :endDate")
-    BigDecimal calculateRevenue(@Param("startDate") LocalDate startDate,
-                                @Param("endDate") LocalDate endDate);
-
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :customerId")
     Long countByCustomerId(@Param("customerId") Long customerId);
 
@@ -37,28 +40,90 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :customerId AND b.status = 'CHECKED_OUT'")
     Long countCompletedByCustomer(@Param("customerId") Long customerId);
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
-            "AND b.checkInDate <= :date AND b.checkOutDate > :date")
-    Long countOccupiedRoomsOnDate(@Param("date") LocalDate date);
-
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.createdAt >= CAST(:startDate AS timestamp) " +
-            "AND b.createdAt < CAST(:endDate AS timestamp)")
-    Long countBookingsInPeriod(@Param("startDate") LocalDate startDate,
-                               @Param("endDate") LocalDate endDate);
-
-    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
-    List<Object[]> countBookingsByStatus();
-
-    @Query("SELECT b.room.roomType.name, COUNT(b), COALESCE(SUM(b.totalPrice), 0) " +
-            "FROM Booking b WHERE b.status = 'CHECKED_OUT' GROUP BY b.room.roomType.name")
-    List<Object[]> getRevenueByRoomType();
-
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = :status")
     Long countByStatus(@Param("status") Booking.BookingStatus status);
 
-    @Query("SELECT b.room.roomType.name, COUNT(b) FROM Booking b " +
-            "WHERE b.checkInDate >= :startDate AND b.checkInDate <= :endDate " +
-            "GROUP BY b.room.roomType.name ORDER BY COUNT(b) DESC")
-    List<Object[]> getPopularRoomTypes(@Param("startDate") LocalDate startDate, 
-                                        @Param("endDate") LocalDate endDate);
+    @Query("SELECT b.checkOutDate, b.room.roomType.id, COALESCE(SUM(b.totalPrice), 0) FROM Booking b " +
+            "WHERE b.status != 'CANCELLED' AND b.checkOutDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY b.checkOutDate, b.room.roomType.id")
+    List<Object[]> sumRevenueByCheckOutDateAndRoomType(@Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT YEAR(b.createdAt), MONTH(b.createdAt), DAY(b.createdAt), b.room.roomType.id, COUNT(b) " +
+            "FROM Booking b WHERE b.createdAt >= CAST(:startDate AS timestamp) " +
+            "AND b.createdAt < CAST(:endDate AS timestamp) " +
+            "GROUP BY YEAR(b.createdAt), MONTH(b.createdAt), DAY(b.createdAt), b.room.roomType.id")
+    List<Object[]> countCreatedByDayAndRoomType(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b.checkInDate, b.checkOutDate, b.room.roomType.id FROM Booking b " +
+            "WHERE b.status != 'CANCELLED' AND b.checkInDate <= :endDate AND b.checkOutDate > :startDate")
+    List<Object[]> findStaysWithRoomTypeOverlapping(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.room.id = :roomId " +
+            "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
+            "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate " +
+            "AND (:excludeId IS NULL OR b.id <> :excludeId)")
+    long countOverlapping(@Param("roomId") Long roomId,
+                          @Param("checkInDate") LocalDate checkInDate,
+                          @Param("checkOutDate") LocalDate checkOutDate,
+                          @Param("excludeId") Long excludeId);
+
+    @Query("SELECT DISTINCT b.room.id FROM Booking b WHERE b.room.id IN :roomIds " +
+            "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') " +
+            "AND b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate")
+    List<Long> findRoomIdsWithOverlap(@Param("roomIds") Collection<Long> roomIds,
+                                      @Param("checkInDate") LocalDate checkInDate,
+                                      @Param("checkOutDate") LocalDate checkOutDate);
+
+    @Query("SELECT b.room.id FROM Booking b WHERE b.id = :id")
+    Optional<Long> findRoomIdById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT b.id, b.room.id, b.checkInDate, b.checkOutDate FROM Booking b " +
+            "WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT')")
+    List<Object[]> findActiveStays();
+
+    @Query("SELECT b.id, b.room.id, b.checkInDate, b.checkOutDate, b.status FROM Booking b WHERE b.id = :id")
+    List<Object[]> findStayById(@Param("id") Long id);
+
+    @Query("SELECT MIN(b.checkInDate), MAX(b.checkOutDate), MIN(b.createdAt) FROM Booking b")
+    List<Object[]> findDateBounds();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id, b.checkInDate, b.checkOutDate, b.createdAt, b.totalPrice, b.status, r.roomType.id, r.id " +
+            "FROM Booking b JOIN b.room r")
+    Stream<Object[]> streamFacts();
+
+    @Query("SELECT b.id, b.checkInDate, b.checkOutDate, b.createdAt, b.totalPrice, b.status, r.roomType.id, r.id " +
+            "FROM Booking b JOIN b.room r WHERE b.id = :id")
+    List<Object[]> findFactById(@Param("id") Long id);
+
+    @Query("SELECT b.id, b.checkInDate, b.checkOutDate, b.createdAt, b.totalPrice, b.status, r.roomType.id, r.id " +
+            "FROM Booking b JOIN b.room r WHERE b.id IN :ids")
+    List<Object[]> findFactsByIds(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id, c.id, c.firstName, c.lastName, c.email, r.id, r.roomNumber, rt.name, " +
+            "b.checkInDate, b.checkOutDate, b.totalPrice, b.status, b.specialRequests, b.createdAt " +
+            "FROM Booking b JOIN b.customer c JOIN b.room r JOIN r.roomType rt " +
+            "WHERE (:status IS NULL OR b.status = :status) " +
+            "AND (:customerId IS NULL OR c.id = :customerId) " +
+            "AND (:startDate IS NULL OR b.checkInDate >= :startDate) " +
+            "AND (:endDate IS NULL OR b.checkOutDate <= :endDate) " +
+            "ORDER BY b.id")
+    Stream<Object[]> streamForExport(@Param("status") Booking.BookingStatus status,
+                                     @Param("customerId") Long customerId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
 }
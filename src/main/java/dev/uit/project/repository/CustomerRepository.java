@@ -1,12 +1,30 @@
 package dev.uit.project.repository;
 
 import dev.uit.project.domain.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.idNumber, c.nationality, " +
+            "c.dateOfBirth, c.address, c.isVIP, c.createdAt FROM Customer c " +
+            "WHERE (:isVIP IS NULL OR c.isVIP = :isVIP) " +
+            "AND (:pattern IS NULL OR LOWER(c.firstName) LIKE :pattern OR LOWER(c.lastName) LIKE :pattern " +
+            "OR LOWER(c.email) LIKE :pattern OR LOWER(c.phone) LIKE :pattern) " +
+            "ORDER BY c.id")
+    Stream<Object[]> streamForExport(@Param("pattern") String pattern, @Param("isVIP") Boolean isVIP);
 }
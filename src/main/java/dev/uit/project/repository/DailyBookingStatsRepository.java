@@ -0,0 +1,40 @@
+package dev.uit.project.repository;
+
+import dev.uit.project.domain.DailyBookingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyBookingStatsRepository extends JpaRepository<DailyBookingStats, Long> {
+
+    @Query("SELECT s.date, COALESCE(SUM(s.checkoutRevenue), 0) FROM DailyBookingStats s " +
+            "WHERE s.date BETWEEN :startDate AND :endDate GROUP BY s.date")
+    List<Object[]> sumRevenueByDay(@Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT s.date, SUM(s.occupiedRoomNights) FROM DailyBookingStats s " +
+            "WHERE s.date BETWEEN :startDate AND :endDate GROUP BY s.date")
+    List<Object[]> sumOccupiedByDay(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT YEAR(s.date), MONTH(s.date), COALESCE(SUM(s.checkoutRevenue), 0), SUM(s.bookingsCreated) " +
+            "FROM DailyBookingStats s WHERE s.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(s.date), MONTH(s.date)")
+    List<Object[]> sumByMonth(@Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(s.checkoutRevenue), 0) FROM DailyBookingStats s " +
+            "WHERE s.date BETWEEN :startDate AND :endDate")
+    BigDecimal sumRevenue(@Param("startDate") LocalDate startDate,
+                          @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COALESCE(SUM(s.occupiedRoomNights), 0) FROM DailyBookingStats s WHERE s.date = :date")
+    Long sumOccupiedOnDate(@Param("date") LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(s.bookingsCreated), 0) FROM DailyBookingStats s WHERE s.date = :date")
+    Long sumCreatedOnDate(@Param("date") LocalDate date);
+}
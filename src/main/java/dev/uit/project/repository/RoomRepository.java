@@ -1,13 +1,17 @@
 package dev.uit.project.repository;
 
 import dev.uit.project.domain.Room;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
 
@@ -23,6 +27,27 @@ public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificat
     List<Room> findAvailableRooms(@Param("checkInDate") LocalDate checkInDate,
                                   @Param("checkOutDate") LocalDate checkOutDate);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM Room r JOIN FETCH r.roomType")
+    List<Room> findAllWithRoomType();
+
+    @Query("SELECT r FROM Room r JOIN FETCH r.roomType WHERE r.id = :id")
+    Optional<Room> findWithRoomTypeById(@Param("id") Long id);
+
+    @Query("SELECT r.id, r.roomNumber, r.floor, rt.name, r.status, b.id, b.checkInDate, b.checkOutDate, b.status " +
+            "FROM Room r JOIN r.roomType rt LEFT JOIN Booking b ON b.room = r AND b.status != 'CANCELLED' " +
+            "AND b.checkInDate <= :endDate AND b.checkOutDate > :startDate " +
+            "ORDER BY r.floor, r.roomNumber, r.id, b.checkInDate, b.id")
+    List<Object[]> findRoomsWithBookingsOverlapping(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
     @Query("SELECT r.roomType.name, COUNT(r) FROM Room r GROUP BY r.roomType.name")
     List<Object[]> countRoomsByType();
 
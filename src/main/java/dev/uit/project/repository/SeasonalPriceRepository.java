@@ -2,9 +2,20 @@ package dev.uit.project.repository;
 
 import dev.uit.project.domain.SeasonalPrice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface SeasonalPriceRepository extends JpaRepository<SeasonalPrice, Long> {
     List<SeasonalPrice> findByRoomTypeIdOrderByPriorityDesc(Long roomTypeId);
+
+    @Query("SELECT s FROM SeasonalPrice s WHERE s.roomType.id IN :roomTypeIds " +
+           "AND s.startDate <= :lastNight AND s.endDate >= :firstNight " +
+           "ORDER BY s.priority DESC, s.id DESC")
+    List<SeasonalPrice> findOverlapping(@Param("roomTypeIds") Collection<Long> roomTypeIds,
+                                        @Param("firstNight") LocalDate firstNight,
+                                        @Param("lastNight") LocalDate lastNight);
 }
@@ -3,36 +3,66 @@ package dev.uit.project.service;
 import dev.uit.project.domain.*;
 import dev.uit.project.domain.dto.*;
 import dev.uit.project.repository.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import dev.uit.project.service.booking.BookingHistoryOutbox;
+import dev.uit.project.service.booking.RoomLockStripes;
+import dev.uit.project.service.event.DataChangedEvent;
+import dev.uit.project.service.pagination.Keyset;
+import dev.uit.project.service.pagination.KeysetRequest;
+import dev.uit.project.service.specification.BookingSpecification;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class BookingService {
 
+    // NOT NULL columns that booking lists can be sorted and paged by
+    static final Set<String> SORTABLE = Set.of("createdAt", "checkInDate", "checkOutDate", "totalPrice");
+
     private final BookingRepository bookingRepository;
     private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingHistoryOutbox bookingHistoryOutbox;
     private final CustomerRepository customerRepository;
     private final RoomRepository roomRepository;
+    private final DailyBookingStatsService dailyBookingStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomLockStripes roomLockStripes;
+    private final TransactionTemplate transactionTemplate;
+
     public BookingService(BookingRepository bookingRepository,
                           BookingHistoryRepository bookingHistoryRepository,
+                          BookingHistoryOutbox bookingHistoryOutbox,
                           CustomerRepository customerRepository,
-                          RoomRepository roomRepository) {
+                          RoomRepository roomRepository,
+                          DailyBookingStatsService dailyBookingStatsService,
+                          ApplicationEventPublisher eventPublisher,
+                          RoomLockStripes roomLockStripes,
+                          PlatformTransactionManager transactionManager) {
         this.bookingRepository = bookingRepository;
         this.bookingHistoryRepository = bookingHistoryRepository;
+        this.bookingHistoryOutbox = bookingHistoryOutbox;
         this.customerRepository = customerRepository;
         this.roomRepository = roomRepository;
+        this.dailyBookingStatsService = dailyBookingStatsService;
+        this.eventPublisher = eventPublisher;
+        this.roomLockStripes = roomLockStripes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
-    public Page<BookingDTO> getAllBookings(Booking.BookingStatus status, Long customerId,
-                                           LocalDate startDate, LocalDate endDate,
-                                           Pageable pageable) {
+    public KeysetPage<BookingDTO> getAllBookings(Booking.BookingStatus status, Long customerId, String search,
+                                                 LocalDate startDate, LocalDate endDate,
+                                                 KeysetRequest request) {
         Specification<Booking> spec = Specification.where((root, query, cb) -> cb.conjunction());
 
         if (status != null) {
@@ -41,6 +71,12 @@ public class BookingService {
         if (customerId != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId));
         }
+        if (search != null && !search.isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.like(cb.lower(root.get("customer").get("firstName")), "%" + search.toLowerCase() + "%"),
+                    cb.like(cb.lower(root.get("customer").get("lastName")), "%" + search.toLowerCase() + "%")
+            ));
+        }
         if (startDate != null) {
             spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("checkInDate"), startDate));
         }
@@ -48,7 +84,8 @@ public class BookingService {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("checkOutDate"), endDate));
         }
 
-        return bookingRepository.findAll(spec, pageable).map(BookingDTO::fromEntity);
+        return Keyset.scroll(bookingRepository, spec.and(BookingSpecification.fetchCustomerAndRoom()), request, SORTABLE,
+                BookingDTO::fromEntity);
     }
 
     @Transactional(readOnly = true)
@@ -58,12 +95,22 @@ public class BookingService {
         return BookingDTO.fromEntity(booking);
     }
 
-    @Transactional
+    /**
+     * Serialized per room: the room's stripe lock is held around the whole transaction and the room row
+     * is locked in the database, so two overlapping bookings for the same room cannot both commit.
+     */
     public BookingDTO createBooking(CreateBookingRequest request) {
+        return roomLockStripes.withRoomLocks(
+                () -> transactionTemplate.execute(status -> doCreateBooking(request)), request.getRoomId());
+    }
+
+    private BookingDTO doCreateBooking(CreateBookingRequest request) {
         Customer customer = customerRepository.findById(request.getCustomerId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
-        Room room = roomRepository.findById(request.getRoomId())
+        Room room = roomRepository.findByIdForUpdate(request.getRoomId())
                 .orElseThrow(() -> new RuntimeException("Room not found"));
+        checkRoomIsFree(room, request.getCheckInDate(), request.getCheckOutDate(), null);
+
         Booking booking = new Booking();
         booking.setCustomer(customer);
         booking.setRoom(room);
@@ -75,29 +122,38 @@ public class BookingService {
 
         Booking saved = bookingRepository.save(booking);
         addHistory(saved, "CREATED", "system", "Booking created");
+        dailyBookingStatsService.record(null, DailyBookingStatsService.Contribution.of(saved));
+        eventPublisher.publishEvent(new DataChangedEvent(Booking.class, saved.getId()));
 
         return BookingDTO.fromEntity(saved);
     }
 
+    /**
+     * The booking row is locked before its status is read, like in the bulk operations and the daily
+     * transition job, so a concurrent status change cannot be overwritten or counted twice in the rollup.
+     */
     @Transactional
     public BookingDTO confirmBooking(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
 
         if (booking.getStatus() != Booking.BookingStatus.PENDING) {
             throw new RuntimeException("Only PENDING bookings can be confirmed");
         }
 
+        DailyBookingStatsService.Contribution before = DailyBookingStatsService.Contribution.of(booking);
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         Booking saved = bookingRepository.save(booking);
         addHistory(saved, "CONFIRMED", "admin", "Booking confirmed");
+        dailyBookingStatsService.record(before, DailyBookingStatsService.Contribution.of(saved));
+        eventPublisher.publishEvent(new DataChangedEvent(Booking.class, saved.getId()));
 
         return BookingDTO.fromEntity(saved);
     }
 
     @Transactional
     public BookingDTO cancelBooking(Long id, String reason) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
 
         if (booking.getStatus() == Booking.BookingStatus.CHECKED_OUT ||
@@ -105,53 +161,90 @@ public class BookingService {
             throw new RuntimeException("Cannot cancel a booking that is already " + booking.getStatus());
         }
 
+        DailyBookingStatsService.Contribution before = DailyBookingStatsService.Contribution.of(booking);
         booking.setStatus(Booking.BookingStatus.CANCELLED);
         Booking saved = bookingRepository.save(booking);
         addHistory(saved, "CANCELLED", "admin", reason != null ? reason : "Booking cancelled");
+        dailyBookingStatsService.record(before, DailyBookingStatsService.Contribution.of(saved));
 
         // Set room back to available
         Room room = booking.getRoom();
         if (room.getStatus() == Room.RoomStatus.RESERVED) {
             room.setStatus(Room.RoomStatus.AVAILABLE);
             roomRepository.save(room);
+            eventPublisher.publishEvent(new DataChangedEvent(Room.class, room.getId()));
         }
+        eventPublisher.publishEvent(new DataChangedEvent(Booking.class, saved.getId()));
 
         return BookingDTO.fromEntity(saved);
     }
 
-    @Transactional
     public BookingDTO updateBooking(Long id, UpdateBookingRequest request) {
-        Booking booking = bookingRepository.findById(id)
+        Long targetRoomId = request.getRoomId() != null ? request.getRoomId()
+                : bookingRepository.findRoomIdById(id)
+                        .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        return roomLockStripes.withRoomLocks(
+                () -> transactionTemplate.execute(status -> doUpdateBooking(id, request)), targetRoomId);
+    }
+
+    private BookingDTO doUpdateBooking(Long id, UpdateBookingRequest request) {
+        Booking booking = bookingRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+        DailyBookingStatsService.Contribution before = DailyBookingStatsService.Contribution.of(booking);
 
-        if (request.getRoomId() != null) {
-            Room newRoom = roomRepository.findById(request.getRoomId())
-                    .orElseThrow(() -> new RuntimeException("Room not found"));
-            booking.setRoom(newRoom);
-        }
+        Long roomId = request.getRoomId() != null ? request.getRoomId() : booking.getRoom().getId();
+        Room room = roomRepository.findByIdForUpdate(roomId)
+                .orElseThrow(() -> new RuntimeException("Room not found"));
+        booking.setRoom(room);
         if (request.getCheckInDate() != null) booking.setCheckInDate(request.getCheckInDate());
         if (request.getCheckOutDate() != null) booking.setCheckOutDate(request.getCheckOutDate());
         if (request.getTotalPrice() != null) booking.setTotalPrice(request.getTotalPrice());
         if (request.getSpecialRequests() != null) booking.setSpecialRequests(request.getSpecialRequests());
 
+        if (booking.getStatus() != Booking.BookingStatus.CANCELLED &&
+                booking.getStatus() != Booking.BookingStatus.CHECKED_OUT) {
+            checkRoomIsFree(room, booking.getCheckInDate(), booking.getCheckOutDate(), booking.getId());
+        }
+
         Booking saved = bookingRepository.save(booking);
         addHistory(saved, "UPDATED", "admin", "Booking details updated");
+        dailyBookingStatsService.record(before, DailyBookingStatsService.Contribution.of(saved));
+        eventPublisher.publishEvent(new DataChangedEvent(Booking.class, saved.getId()));
 
         return BookingDTO.fromEntity(saved);
     }
 
+    /**
+     * Includes records still waiting in the history outbox. The outbox is read first, so a record moved
+     * in between shows up in both reads and is dropped from the pending list.
+     */
     @Transactional(readOnly = true)
     public List<BookingHistoryDTO> getBookingHistory(Long bookingId) {
-        return bookingHistoryRepository.findByBookingIdOrderByTimestampDesc(bookingId)
+        List<BookingHistoryDTO> pending = bookingHistoryOutbox.pending(bookingId)
+                .stream().map(BookingHistoryDTO::fromOutboxEntry).toList();
+        List<BookingHistoryDTO> history = bookingHistoryRepository.findByBookingIdOrderByTimestampDesc(bookingId)
                 .stream().map(BookingHistoryDTO::fromEntity).toList();
+        if (pending.isEmpty()) return history;
+
+        Set<String> moved = new HashSet<>();
+        history.forEach(h -> moved.add(h.getAction() + "@" + h.getTimestamp()));
+        List<BookingHistoryDTO> result = new ArrayList<>(history);
+        pending.stream().filter(p -> !moved.contains(p.getAction() + "@" + p.getTimestamp())).forEach(result::add);
+        result.sort(Comparator.comparing(BookingHistoryDTO::getTimestamp).reversed());
+        return result;
+    }
+
+    private void checkRoomIsFree(Room room, LocalDate checkInDate, LocalDate checkOutDate, Long excludeBookingId) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new RuntimeException("Check-out date must be after check-in date");
+        }
+        if (bookingRepository.countOverlapping(room.getId(), checkInDate, checkOutDate, excludeBookingId) > 0) {
+            throw new RuntimeException("Room " + room.getRoomNumber() + " is already booked between "
+                    + checkInDate + " and " + checkOutDate);
+        }
     }
 
     private void addHistory(Booking booking, String action, String performedBy, String notes) {
-        BookingHistory history = new BookingHistory();
-        history.setBooking(booking);
-        history.setAction(action);
-        history.setPerformedBy(performedBy);
-        history.setNotes(notes);
-        bookingHistoryRepository.save(history);
+        bookingHistoryOutbox.append(booking.getId(), action, performedBy, notes);
     }
 }
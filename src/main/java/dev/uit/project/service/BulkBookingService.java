@@ -0,0 +1,183 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.dto.BulkBookingResult;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.service.booking.BookingHistoryOutbox;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Status changes for many bookings at once. The bookings are locked and their current states read
+ * with one query; the valid ones change with one UPDATE per target status and their rooms with one
+ * more. A booking that cannot make the transition is reported and left alone; the others still
+ * change.
+ */
+@Service
+public class BulkBookingService {
+
+    // Above this many changes listeners get one reload event instead of one event per id
+    private static final int PER_ID_EVENT_LIMIT = 100;
+
+    private static final Map<Booking.BookingStatus, Set<Booking.BookingStatus>> ALLOWED_FROM = Map.of(
+            Booking.BookingStatus.CONFIRMED, EnumSet.of(Booking.BookingStatus.PENDING),
+            Booking.BookingStatus.CHECKED_IN, EnumSet.of(Booking.BookingStatus.CONFIRMED),
+            Booking.BookingStatus.CHECKED_OUT, EnumSet.of(Booking.BookingStatus.CHECKED_IN),
+            Booking.BookingStatus.CANCELLED, EnumSet.of(Booking.BookingStatus.PENDING,
+                    Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.CHECKED_IN));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryOutbox bookingHistoryOutbox;
+    private final DailyBookingStatsService dailyBookingStatsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkBookingService(JdbcTemplate jdbcTemplate,
+                              BookingRepository bookingRepository,
+                              BookingHistoryOutbox bookingHistoryOutbox,
+                              DailyBookingStatsService dailyBookingStatsService,
+                              ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryOutbox = bookingHistoryOutbox;
+        this.dailyBookingStatsService = dailyBookingStatsService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public BulkBookingResult confirmBookings(List<Long> ids) {
+        return transition(ids, Booking.BookingStatus.CONFIRMED, "Booking confirmed");
+    }
+
+    @Transactional
+    public BulkBookingResult cancelBookings(List<Long> ids, String reason) {
+        return transition(ids, Booking.BookingStatus.CANCELLED, reason != null ? reason : "Booking cancelled");
+    }
+
+    @Transactional
+    public BulkBookingResult updateStatus(List<Long> ids, Booking.BookingStatus status, String reason) {
+        if (status == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        if (!ALLOWED_FROM.containsKey(status)) {
+            throw new IllegalArgumentException("Bookings cannot be moved to " + status);
+        }
+        return transition(ids, status, reason != null ? reason : "Status changed to " + status);
+    }
+
+    private BulkBookingResult transition(List<Long> requestedIds, Booking.BookingStatus target, String notes) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Booking IDs must not be null");
+        }
+
+        Map<Long, Booking.BookingStatus> current = new HashMap<>();
+        Map<Long, Long> roomIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, status, room_id FROM bookings WHERE id IN (" + placeholders(ids.size())
+                + ") ORDER BY id FOR UPDATE", rs -> {
+            current.put(rs.getLong(1), Booking.BookingStatus.valueOf(rs.getString(2)));
+            roomIds.put(rs.getLong(1), rs.getLong(3));
+        }, ids.toArray());
+
+        Set<Booking.BookingStatus> allowed = ALLOWED_FROM.get(target);
+        List<Long> changing = new ArrayList<>();
+        List<BulkBookingResult.Outcome> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Booking.BookingStatus status = current.get(id);
+            if (status == null) {
+                outcomes.add(new BulkBookingResult.Outcome(id, false, null, "Booking not found with id: " + id));
+            } else if (!allowed.contains(status)) {
+                outcomes.add(new BulkBookingResult.Outcome(id, false, status,
+                        "Cannot change a " + status + " booking to " + target));
+            } else {
+                changing.add(id);
+                outcomes.add(new BulkBookingResult.Outcome(id, true, target, null));
+            }
+        }
+        if (changing.isEmpty()) {
+            return new BulkBookingResult(0, outcomes.size(), outcomes);
+        }
+
+        List<DailyBookingStatsService.Contribution> before = new ArrayList<>(changing.size());
+        List<DailyBookingStatsService.Contribution> after = new ArrayList<>(changing.size());
+        for (Object[] row : bookingRepository.findFactsByIds(changing)) {
+            before.add(DailyBookingStatsService.Contribution.ofFacts(row, (Booking.BookingStatus) row[5]));
+            after.add(DailyBookingStatsService.Contribution.ofFacts(row, target));
+        }
+
+        Object[] args = new Object[changing.size() + 1];
+        args[0] = target.name();
+        for (int i = 0; i < changing.size(); i++) {
+            args[i + 1] = changing.get(i);
+        }
+        jdbcTemplate.update("UPDATE bookings SET status = ? WHERE id IN (" + placeholders(changing.size()) + ")", args);
+
+        Set<Long> rooms = new TreeSet<>();
+        changing.forEach(id -> rooms.add(roomIds.get(id)));
+        boolean roomsChanged = updateRooms(rooms, target);
+
+        for (Long id : changing) {
+            bookingHistoryOutbox.append(id, target.name(), "admin", notes);
+        }
+        dailyBookingStatsService.recordChanges(before, after);
+
+        publish(Booking.class, changing);
+        if (roomsChanged) publish(Room.class, rooms);
+        return new BulkBookingResult(changing.size(), outcomes.size() - changing.size(), outcomes);
+    }
+
+    /**
+     * Same room rules as the single-booking operations and the daily state transitions.
+     */
+    private boolean updateRooms(Collection<Long> rooms, Booking.BookingStatus target) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String inRooms = " AND id IN (" + placeholders(rooms.size()) + ")";
+        List<Object> args = new ArrayList<>();
+        String sql;
+        switch (target) {
+            case CHECKED_IN -> {
+                sql = "UPDATE rooms SET status = ?, updated_at = ? WHERE status IN (?, ?)" + inRooms;
+                args.addAll(List.of(Room.RoomStatus.OCCUPIED.name(), now,
+                        Room.RoomStatus.AVAILABLE.name(), Room.RoomStatus.RESERVED.name()));
+            }
+            case CHECKED_OUT -> {
+                // Another checked-in booking keeps the room occupied
+                sql = "UPDATE rooms SET status = ?, updated_at = ? WHERE status = ?" + inRooms
+                        + " AND id NOT IN (SELECT b.room_id FROM bookings b WHERE b.status = ?)";
+                args.addAll(List.of(Room.RoomStatus.AVAILABLE.name(), now, Room.RoomStatus.OCCUPIED.name()));
+            }
+            case CANCELLED -> {
+                sql = "UPDATE rooms SET status = ?, updated_at = ? WHERE status = ?" + inRooms;
+                args.addAll(List.of(Room.RoomStatus.AVAILABLE.name(), now, Room.RoomStatus.RESERVED.name()));
+            }
+            default -> {
+                return false;
+            }
+        }
+        args.addAll(rooms);
+        if (target == Booking.BookingStatus.CHECKED_OUT) {
+            args.add(Booking.BookingStatus.CHECKED_IN.name());
+        }
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    private void publish(Class<?> type, Collection<Long> ids) {
+        if (ids.size() > PER_ID_EVENT_LIMIT) {
+            eventPublisher.publishEvent(new DataChangedEvent(type, null));
+        } else {
+            ids.forEach(id -> eventPublisher.publishEvent(new DataChangedEvent(type, id)));
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
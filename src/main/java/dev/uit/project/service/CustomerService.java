@@ -1,28 +1,40 @@
 package dev.uit.project.service;
 
+import dev.uit.project.domain.Booking;
 import dev.uit.project.domain.Customer;
 import dev.uit.project.domain.dto.*;
 import dev.uit.project.repository.BookingRepository;
 import dev.uit.project.repository.CustomerRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import dev.uit.project.service.event.DataChangedEvent;
+import dev.uit.project.service.pagination.Keyset;
+import dev.uit.project.service.pagination.KeysetRequest;
+import dev.uit.project.service.specification.BookingSpecification;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Set;
+
 @Service
 public class CustomerService {
 
+    // NOT NULL columns that the customer list can be sorted and paged by
+    private static final Set<String> SORTABLE = Set.of("createdAt", "firstName", "lastName");
+
     private final CustomerRepository customerRepository;
     private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CustomerService(CustomerRepository customerRepository, BookingRepository bookingRepository) {
+    public CustomerService(CustomerRepository customerRepository, BookingRepository bookingRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.customerRepository = customerRepository;
         this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
-    public Page<CustomerDTO> getAllCustomers(String search, Boolean isVIP, Pageable pageable) {
+    public KeysetPage<CustomerDTO> getAllCustomers(String search, Boolean isVIP, KeysetRequest request) {
         Specification<Customer> spec = Specification.where((root, query, cb) -> cb.conjunction());
 
         if (search != null && !search.isBlank()) {
@@ -30,7 +42,8 @@ public class CustomerService {
                     cb.like(cb.lower(root.get("firstName")), "%" + search.toLowerCase() + "%"),
                     cb.like(cb.lower(root.get("lastName")), "%" + search.toLowerCase() + "%"),
                     cb.like(cb.lower(root.get("email")), "%" + search.toLowerCase() + "%"),
-                    cb.like(cb.lower(root.get("phone")), "%" + search.toLowerCase() + "%")
+                    cb.like(cb.lower(root.get("phone")), "%" + search.toLowerCase() + "%"),
+                    cb.like(cb.lower(root.get("idNumber")), "%" + search.toLowerCase() + "%")
             ));
         }
 
@@ -38,7 +51,7 @@ public class CustomerService {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("isVIP"), isVIP));
         }
 
-        return customerRepository.findAll(spec, pageable).map(CustomerDTO::fromEntity);
+        return Keyset.scroll(customerRepository, spec, request, SORTABLE, CustomerDTO::fromEntity);
     }
 
     @Transactional(readOnly = true)
@@ -66,7 +79,9 @@ public class CustomerService {
         customer.setNotes(request.getNotes());
         customer.setIsVIP(request.getIsVIP() != null ? request.getIsVIP() : false);
 
-        return CustomerDTO.fromEntity(customerRepository.save(customer));
+        Customer saved = customerRepository.save(customer);
+        eventPublisher.publishEvent(new DataChangedEvent(Customer.class, saved.getId()));
+        return CustomerDTO.fromEntity(saved);
     }
 
     @Transactional
@@ -94,9 +109,10 @@ public class CustomerService {
     }
 
     @Transactional(readOnly = true)
-    public Page<BookingDTO> getCustomerBookings(Long customerId, Pageable pageable) {
-        return bookingRepository.findByCustomerId(customerId, pageable)
-                .map(BookingDTO::fromEntity);
+    public KeysetPage<BookingDTO> getCustomerBookings(Long customerId, KeysetRequest request) {
+        Specification<Booking> spec = BookingSpecification.fetchCustomerAndRoom()
+                .and((root, query, cb) -> cb.equal(root.get("customer").get("id"), customerId));
+        return Keyset.scroll(bookingRepository, spec, request, BookingService.SORTABLE, BookingDTO::fromEntity);
     }
 
     @Transactional(readOnly = true)
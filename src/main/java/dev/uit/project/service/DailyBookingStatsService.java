@@ -0,0 +1,303 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.repository.BookingHistoryRepository;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.DailyBookingStatsRepository;
+import dev.uit.project.service.booking.BookingHistoryOutbox;
+import dev.uit.project.service.report.OccupancySweep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code daily_booking_stats} rollup (per day and room type) that the reports read.
+ * Booking writes apply their delta in the caller's transaction; {@link #rebuild} recomputes a
+ * date range from the raw tables for backfill.
+ */
+@Service
+public class DailyBookingStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyBookingStatsService.class);
+
+    private static final String ENSURE_ROW_SQL =
+            "MERGE INTO daily_booking_stats s " +
+            "USING (SELECT CAST(? AS DATE) AS stat_date, CAST(? AS NUMBER(19)) AS room_type_id FROM dual) k " +
+            "ON (s.stat_date = k.stat_date AND s.room_type_id = k.room_type_id) " +
+            "WHEN NOT MATCHED THEN INSERT (id, stat_date, room_type_id, bookings_created, checkout_revenue, " +
+            "occupied_room_nights, cancellations) " +
+            "VALUES (DAILY_BOOKING_STATS_SEQ.NEXTVAL, k.stat_date, k.room_type_id, 0, 0, 0, 0)";
+
+    private static final String INCREMENT_SQL =
+            "UPDATE daily_booking_stats SET bookings_created = bookings_created + ?, " +
+            "checkout_revenue = checkout_revenue + ?, occupied_room_nights = occupied_room_nights + ?, " +
+            "cancellations = cancellations + ? WHERE stat_date = ? AND room_type_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO daily_booking_stats (id, stat_date, room_type_id, bookings_created, checkout_revenue, " +
+            "occupied_room_nights, cancellations) VALUES (DAILY_BOOKING_STATS_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<StatKey> STAT_KEY_ORDER =
+            Comparator.comparing(StatKey::date).thenComparing(StatKey::roomTypeId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingHistoryOutbox bookingHistoryOutbox;
+    private final DailyBookingStatsRepository dailyBookingStatsRepository;
+
+    public DailyBookingStatsService(JdbcTemplate jdbcTemplate,
+                                    BookingRepository bookingRepository,
+                                    BookingHistoryRepository bookingHistoryRepository,
+                                    BookingHistoryOutbox bookingHistoryOutbox,
+                                    DailyBookingStatsRepository dailyBookingStatsRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.bookingHistoryOutbox = bookingHistoryOutbox;
+        this.dailyBookingStatsRepository = dailyBookingStatsRepository;
+    }
+
+    /**
+     * What a single booking adds to the rollup in its current state.
+     */
+    public record Contribution(Booking.BookingStatus status, LocalDate checkInDate, LocalDate checkOutDate,
+                               LocalDate createdOn, BigDecimal totalPrice, Long roomTypeId) {
+
+        public static Contribution of(Booking booking) {
+            LocalDateTime createdAt = booking.getCreatedAt();
+            return new Contribution(
+                    booking.getStatus(),
+                    booking.getCheckInDate(),
+                    booking.getCheckOutDate(),
+                    createdAt != null ? createdAt.toLocalDate() : LocalDate.now(),
+                    booking.getTotalPrice(),
+                    booking.getRoom().getRoomType().getId());
+        }
+
+        /**
+         * From a row of {@link BookingRepository#findFactsByIds}, as if the booking had {@code status}.
+         */
+        public static Contribution ofFacts(Object[] row, Booking.BookingStatus status) {
+            return new Contribution(status, (LocalDate) row[1], (LocalDate) row[2],
+                    ((LocalDateTime) row[3]).toLocalDate(), (BigDecimal) row[4], (Long) row[6]);
+        }
+
+        boolean isCancelled() {
+            return status == Booking.BookingStatus.CANCELLED;
+        }
+    }
+
+    /**
+     * Applies the difference between two states of one booking. {@code before} is null for a new booking.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Contribution before, Contribution after) {
+        Map<StatKey, StatDelta> deltas = new HashMap<>();
+        addChange(deltas, before, after);
+        apply(deltas);
+    }
+
+    /**
+     * Applies the changes of many bookings at once, e.g. a bulk status transition; {@code before} and
+     * {@code after} are parallel lists.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(List<Contribution> before, List<Contribution> after) {
+        Map<StatKey, StatDelta> deltas = new HashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            addChange(deltas, before.get(i), after.get(i));
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Applies several new bookings at once, e.g. a group booking, with one batch per statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Contribution> created) {
+        Map<StatKey, StatDelta> deltas = new HashMap<>();
+        for (Contribution contribution : created) {
+            addContribution(deltas, contribution, 1);
+        }
+        apply(deltas);
+    }
+
+    private void apply(Map<StatKey, StatDelta> deltas) {
+        List<Map.Entry<StatKey, StatDelta>> changed = new ArrayList<>();
+        for (Map.Entry<StatKey, StatDelta> entry : deltas.entrySet()) {
+            if (!entry.getValue().isZero()) changed.add(entry);
+        }
+        if (changed.isEmpty()) return;
+        // Touch rows in a fixed order so concurrent bookings of one room type cannot deadlock
+        changed.sort(Map.Entry.comparingByKey(STAT_KEY_ORDER));
+
+        ensureRows(changed);
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, changed, changed.size(), (ps, entry) -> {
+            StatDelta delta = entry.getValue();
+            ps.setLong(1, delta.bookingsCreated);
+            ps.setBigDecimal(2, delta.checkoutRevenue);
+            ps.setLong(3, delta.occupiedRoomNights);
+            ps.setLong(4, delta.cancellations);
+            ps.setObject(5, entry.getKey().date());
+            ps.setLong(6, entry.getKey().roomTypeId());
+        });
+    }
+
+    private void ensureRows(List<Map.Entry<StatKey, StatDelta>> changed) {
+        try {
+            insertMissingRows(changed);
+        } catch (DuplicateKeyException ex) {
+            // A concurrent transaction created one of the rows first; the MERGE is idempotent, so retry
+            insertMissingRows(changed);
+        }
+    }
+
+    private void insertMissingRows(List<Map.Entry<StatKey, StatDelta>> changed) {
+        jdbcTemplate.batchUpdate(ENSURE_ROW_SQL, changed, changed.size(), (ps, entry) -> {
+            ps.setObject(1, entry.getKey().date());
+            ps.setLong(2, entry.getKey().roomTypeId());
+        });
+    }
+
+    private void addChange(Map<StatKey, StatDelta> deltas, Contribution before, Contribution after) {
+        if (before != null) addContribution(deltas, before, -1);
+        if (after != null) addContribution(deltas, after, 1);
+        if (before != null && after != null && !before.isCancelled() && after.isCancelled()) {
+            deltas.computeIfAbsent(new StatKey(LocalDate.now(), after.roomTypeId()), k -> new StatDelta()).cancellations++;
+        }
+    }
+
+    private void addContribution(Map<StatKey, StatDelta> deltas, Contribution c, int sign) {
+        deltas.computeIfAbsent(new StatKey(c.createdOn(), c.roomTypeId()), k -> new StatDelta())
+                .bookingsCreated += sign;
+        if (c.isCancelled()) return;
+
+        StatDelta checkout = deltas.computeIfAbsent(new StatKey(c.checkOutDate(), c.roomTypeId()), k -> new StatDelta());
+        checkout.checkoutRevenue = checkout.checkoutRevenue.add(
+                sign > 0 ? c.totalPrice() : c.totalPrice().negate());
+        for (LocalDate night = c.checkInDate(); night.isBefore(c.checkOutDate()); night = night.plusDays(1)) {
+            deltas.computeIfAbsent(new StatKey(night, c.roomTypeId()), k -> new StatDelta()).occupiedRoomNights += sign;
+        }
+    }
+
+    /**
+     * Recomputes the rollup for {@code [startDate, endDate]} from bookings and booking history.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        // Cancellations are counted from booking_history, which must include the outbox
+        bookingHistoryOutbox.flush();
+        jdbcTemplate.update("DELETE FROM daily_booking_stats WHERE stat_date BETWEEN ? AND ?", startDate, endDate);
+
+        Map<StatKey, StatDelta> totals = new HashMap<>();
+        for (Object[] row : bookingRepository.countCreatedByDayAndRoomType(startDate, endDate.plusDays(1))) {
+            totals.computeIfAbsent(new StatKey(toDate(row), (Long) row[3]), k -> new StatDelta())
+                    .bookingsCreated += ((Number) row[4]).longValue();
+        }
+        for (Object[] row : bookingRepository.sumRevenueByCheckOutDateAndRoomType(startDate, endDate)) {
+            StatDelta delta = totals.computeIfAbsent(new StatKey((LocalDate) row[0], (Long) row[1]), k -> new StatDelta());
+            delta.checkoutRevenue = delta.checkoutRevenue.add((BigDecimal) row[2]);
+        }
+        for (Object[] row : bookingHistoryRepository.countCancellationsByDayAndRoomType(startDate, endDate.plusDays(1))) {
+            totals.computeIfAbsent(new StatKey(toDate(row), (Long) row[3]), k -> new StatDelta())
+                    .cancellations += ((Number) row[4]).longValue();
+        }
+
+        Map<Long, List<Object[]>> staysByRoomType = new HashMap<>();
+        for (Object[] row : bookingRepository.findStaysWithRoomTypeOverlapping(startDate, endDate)) {
+            staysByRoomType.computeIfAbsent((Long) row[2], k -> new ArrayList<>()).add(row);
+        }
+        for (Map.Entry<Long, List<Object[]>> entry : staysByRoomType.entrySet()) {
+            long[] occupied = OccupancySweep.occupiedPerDay(entry.getValue(), startDate, endDate);
+            for (int i = 0; i < occupied.length; i++) {
+                if (occupied[i] == 0) continue;
+                totals.computeIfAbsent(new StatKey(startDate.plusDays(i), entry.getKey()), k -> new StatDelta())
+                        .occupiedRoomNights += occupied[i];
+            }
+        }
+
+        List<Map.Entry<StatKey, StatDelta>> rows = new ArrayList<>(totals.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, 500, (ps, entry) -> {
+            StatDelta delta = entry.getValue();
+            ps.setObject(1, entry.getKey().date());
+            ps.setLong(2, entry.getKey().roomTypeId());
+            ps.setLong(3, delta.bookingsCreated);
+            ps.setBigDecimal(4, delta.checkoutRevenue);
+            ps.setLong(5, delta.occupiedRoomNights);
+            ps.setLong(6, delta.cancellations);
+        });
+        log.info("Rebuilt daily_booking_stats for {} to {}: {} rows", startDate, endDate, rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Recomputes the rollup for every date that has booking activity.
+     */
+    @Transactional
+    public int rebuildAll() {
+        LocalDate[] bounds = activityBounds();
+        return bounds != null ? rebuild(bounds[0], bounds[1]) : 0;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        if (dailyBookingStatsRepository.count() == 0 && bookingRepository.count() > 0) {
+            LocalDate[] bounds = activityBounds();
+            if (bounds != null) rebuild(bounds[0], bounds[1]);
+        }
+    }
+
+    private LocalDate[] activityBounds() {
+        List<Object[]> result = bookingRepository.findDateBounds();
+        if (result.isEmpty() || result.get(0)[0] == null) return null;
+        Object[] row = result.get(0);
+        LocalDate minCheckIn = (LocalDate) row[0];
+        LocalDate maxCheckOut = (LocalDate) row[1];
+        LocalDate minCreated = ((LocalDateTime) row[2]).toLocalDate();
+        LocalDate today = LocalDate.now();
+        LocalDate from = minCreated.isBefore(minCheckIn) ? minCreated : minCheckIn;
+        LocalDate to = maxCheckOut.isAfter(today) ? maxCheckOut : today;
+        return new LocalDate[]{from, to};
+    }
+
+    private static LocalDate toDate(Object[] row) {
+        return LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+    }
+
+    private record StatKey(LocalDate date, Long roomTypeId) {
+    }
+
+    private static final class StatDelta {
+        long bookingsCreated;
+        BigDecimal checkoutRevenue = BigDecimal.ZERO;
+        long occupiedRoomNights;
+        long cancellations;
+
+        boolean isZero() {
+            return bookingsCreated == 0 && checkoutRevenue.signum() == 0
+                    && occupiedRoomNights == 0 && cancellations == 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.dto.report.*;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.CustomerRepository;
+import dev.uit.project.service.export.ExportFormat;
+import dev.uit.project.service.export.ExportWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams exports row by row from a forward-only cursor, so memory use does not grow with row count.
+ */
+@Service
+public class ExportService {
+
+    private static final List<String> BOOKING_COLUMNS = List.of(
+            "id", "customerId", "customerName", "customerEmail", "roomId", "roomNumber", "roomTypeName",
+            "checkInDate", "checkOutDate", "totalPrice", "status", "specialRequests", "createdAt");
+
+    private static final List<String> CUSTOMER_COLUMNS = List.of(
+            "id", "firstName", "lastName", "email", "phone", "idNumber", "nationality",
+            "dateOfBirth", "address", "isVIP", "createdAt");
+
+    private final BookingRepository bookingRepository;
+    private final CustomerRepository customerRepository;
+    private final ReportService reportService;
+    private final JsonMapper jsonMapper;
+
+    public ExportService(BookingRepository bookingRepository, CustomerRepository customerRepository,
+                         ReportService reportService, JsonMapper jsonMapper) {
+        this.bookingRepository = bookingRepository;
+        this.customerRepository = customerRepository;
+        this.reportService = reportService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBookings(Booking.BookingStatus status, Long customerId,
+                               LocalDate startDate, LocalDate endDate,
+                               ExportFormat format, Writer out) {
+        ExportWriter writer = ExportWriter.open(format, out, BOOKING_COLUMNS, jsonMapper);
+        try (Stream<Object[]> rows = bookingRepository.streamForExport(status, customerId, startDate, endDate)) {
+            rows.forEach(row -> writer.writeRow(
+                    row[0], row[1], row[2] + " " + row[3], row[4], row[5], row[6], row[7],
+                    row[8], row[9], row[10], row[11], row[12], row[13]));
+        }
+        writer.finish();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCustomers(String search, Boolean isVIP, ExportFormat format, Writer out) {
+        String pattern = search != null && !search.isBlank() ? "%" + search.toLowerCase() + "%" : null;
+        ExportWriter writer = ExportWriter.open(format, out, CUSTOMER_COLUMNS, jsonMapper);
+        try (Stream<Object[]> rows = customerRepository.streamForExport(pattern, isVIP)) {
+            rows.forEach(writer::writeRow);
+        }
+        writer.finish();
+    }
+
+    public void exportReport(ReportTable table, ExportFormat format, Writer out) {
+        ExportWriter writer = ExportWriter.open(format, out, table.columns(), jsonMapper);
+        for (int i = 0; i < table.rowCount(); i++) {
+            writer.writeRow(table.row(i));
+        }
+        writer.finish();
+    }
+
+    /**
+     * Resolves a report by its endpoint name; called before any response header is written
+     * so that an invalid request still gets a regular error response.
+     */
+    public ReportTable loadReport(String report, LocalDate startDate, LocalDate endDate,
+                                  String groupBy, int months) {
+        switch (report) {
+            case "revenue":
+                requireRange(startDate, endDate);
+                return reportService.getRevenueReport(startDate, endDate, groupBy).breakdown();
+            case "occupancy":
+                requireRange(startDate, endDate);
+                return reportService.getOccupancyReport(startDate, endDate).daily();
+            case "trends":
+                requireRange(startDate, endDate);
+                return reportService.getTrendSeries(startDate, endDate);
+            case "monthly-revenue":
+                return new RecordTable<>(MonthlyRevenue.class, reportService.getMonthlyRevenue(months));
+            case "rooms-by-type":
+                return new RecordTable<>(RoomTypeCount.class, reportService.getRoomsByType());
+            case "rooms-by-status":
+                return new RecordTable<>(StatusCount.class, reportService.getRoomsByStatus());
+            case "bookings-by-status":
+                return new RecordTable<>(StatusCount.class, reportService.getBookingsByStatus());
+            case "revenue-by-room-type":
+                return new RecordTable<>(RoomTypeRevenue.class, reportService.getRevenueByRoomType());
+            case "popular-room-types":
+                requireRange(startDate, endDate);
+                return new RecordTable<>(RoomTypeBookings.class,
+                        reportService.getPopularRoomTypes(startDate, endDate));
+            default:
+                throw new IllegalArgumentException("Unknown report: " + report);
+        }
+    }
+
+    private static void requireRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("startDate and endDate are required for this report");
+        }
+    }
+}
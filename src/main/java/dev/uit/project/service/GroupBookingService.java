@@ -0,0 +1,202 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.*;
+import dev.uit.project.domain.dto.BookingDTO;
+import dev.uit.project.domain.dto.GroupBookingRequest;
+import dev.uit.project.domain.dto.pricing.PriceQuote;
+import dev.uit.project.domain.dto.RoomDTO;
+import dev.uit.project.repository.*;
+import dev.uit.project.service.availability.RoomAvailabilityIndex;
+import dev.uit.project.service.booking.BookingHistoryOutbox;
+import dev.uit.project.service.booking.GroupRoomAllocator;
+import dev.uit.project.service.booking.RoomLockStripes;
+import dev.uit.project.service.event.DataChangedEvent;
+import dev.uit.project.service.pricing.PriceQuoteService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Books several rooms for one customer and stay in a single transaction: either every room of the
+ * group is booked or none is.
+ */
+@Service
+public class GroupBookingService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    // Free days on each side of a stay beyond which a gap counts as "wide open"
+    private static final int SLACK_CAP_DAYS = 14;
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryOutbox bookingHistoryOutbox;
+    private final CustomerRepository customerRepository;
+    private final RoomRepository roomRepository;
+    private final PriceQuoteService priceQuoteService;
+    private final DailyBookingStatsService dailyBookingStatsService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomLockStripes roomLockStripes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public GroupBookingService(BookingRepository bookingRepository,
+                               BookingHistoryOutbox bookingHistoryOutbox,
+                               CustomerRepository customerRepository,
+                               RoomRepository roomRepository,
+                               PriceQuoteService priceQuoteService,
+                               DailyBookingStatsService dailyBookingStatsService,
+                               RoomAvailabilityIndex availabilityIndex,
+                               RoomLockStripes roomLockStripes,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryOutbox = bookingHistoryOutbox;
+        this.customerRepository = customerRepository;
+        this.roomRepository = roomRepository;
+        this.priceQuoteService = priceQuoteService;
+        this.dailyBookingStatsService = dailyBookingStatsService;
+        this.availabilityIndex = availabilityIndex;
+        this.roomLockStripes = roomLockStripes;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Allocates rooms from the availability index, then locks them like single bookings do and re-checks
+     * them in the database. If another booking took one of them in the meantime, the allocation is
+     * repeated without it.
+     */
+    public List<BookingDTO> createGroupBooking(GroupBookingRequest request) {
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new RuntimeException("Check-out date must be after check-in date");
+        }
+
+        Set<Long> excluded = new HashSet<>();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            List<Allocation> allocations = allocate(request, excluded);
+            Long[] roomIds = allocations.stream().map(Allocation::roomId).toArray(Long[]::new);
+            try {
+                return roomLockStripes.withRoomLocks(
+                        () -> transactionTemplate.execute(status -> insertBookings(request, allocations)), roomIds);
+            } catch (RoomsTakenException e) {
+                excluded.addAll(e.roomIds);
+            }
+        }
+        throw new RuntimeException("Rooms for the group were booked concurrently, please try again");
+    }
+
+    private List<Allocation> allocate(GroupBookingRequest request, Set<Long> excluded) {
+        LocalDate checkIn = request.getCheckInDate();
+        LocalDate checkOut = request.getCheckOutDate();
+        Map<Long, List<GroupRoomAllocator.Candidate>> candidatesByType = new HashMap<>();
+        for (RoomDTO room : availabilityIndex.findAvailableRooms(checkIn, checkOut)) {
+            if (excluded.contains(room.getId())) continue;
+            candidatesByType.computeIfAbsent(room.getRoomTypeId(), t -> new ArrayList<>())
+                    .add(new GroupRoomAllocator.Candidate(room.getId(),
+                            room.getFloor() != null ? room.getFloor() : 0, room.getRoomNumber(),
+                            availabilityIndex.slackDays(room.getId(), checkIn, checkOut, SLACK_CAP_DAYS)));
+        }
+
+        List<Allocation> allocations = new ArrayList<>();
+        for (GroupBookingRequest.RoomTypeQuantity line : request.getRooms()) {
+            List<GroupRoomAllocator.Candidate> candidates =
+                    candidatesByType.getOrDefault(line.getRoomTypeId(), new ArrayList<>());
+            List<GroupRoomAllocator.Candidate> chosen = GroupRoomAllocator.allocate(candidates, line.getQuantity());
+            if (chosen.isEmpty()) {
+                throw new RuntimeException("Only " + candidates.size() + " rooms of type " + line.getRoomTypeId()
+                        + " are available between " + checkIn + " and " + checkOut
+                        + ", " + line.getQuantity() + " requested");
+            }
+            for (GroupRoomAllocator.Candidate candidate : chosen) {
+                allocations.add(new Allocation(candidate.roomId(), line));
+            }
+            // A type listed twice must not get the same rooms again
+            candidates.removeAll(chosen);
+        }
+        return allocations;
+    }
+
+    private List<BookingDTO> insertBookings(GroupBookingRequest request, List<Allocation> allocations) {
+        Customer customer = customerRepository.findById(request.getCustomerId())
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+
+        List<Long> roomIds = allocations.stream().map(Allocation::roomId).toList();
+        Map<Long, Room> rooms = new HashMap<>();
+        Set<Long> taken = new HashSet<>();
+        for (Room room : roomRepository.findAllByIdForUpdate(roomIds)) {
+            rooms.put(room.getId(), room);
+            if (room.getStatus() != Room.RoomStatus.AVAILABLE) taken.add(room.getId());
+        }
+        for (Long roomId : roomIds) {
+            if (!rooms.containsKey(roomId)) taken.add(roomId);
+        }
+        taken.addAll(bookingRepository.findRoomIdsWithOverlap(
+                roomIds, request.getCheckInDate(), request.getCheckOutDate()));
+        if (!taken.isEmpty()) throw new RoomsTakenException(taken);
+
+        Set<Long> unpriced = new HashSet<>();
+        for (Allocation allocation : allocations) {
+            if (allocation.line().getTotalPricePerRoom() == null) unpriced.add(allocation.line().getRoomTypeId());
+        }
+        Map<Long, BigDecimal> stayPrices = new HashMap<>();
+        if (!unpriced.isEmpty()) {
+            for (PriceQuote quote : priceQuoteService.quoteAll(unpriced, request.getCheckInDate(),
+                    request.getCheckOutDate(), null)) {
+                stayPrices.put(quote.roomTypeId(), quote.subtotal());
+            }
+        }
+        List<Booking> bookings = new ArrayList<>();
+        for (Allocation allocation : allocations) {
+            Booking booking = new Booking();
+            booking.setCustomer(customer);
+            booking.setRoom(rooms.get(allocation.roomId()));
+            booking.setCheckInDate(request.getCheckInDate());
+            booking.setCheckOutDate(request.getCheckOutDate());
+            booking.setTotalPrice(allocation.line().getTotalPricePerRoom() != null
+                    ? allocation.line().getTotalPricePerRoom()
+                    : stayPrice(stayPrices, allocation.line().getRoomTypeId()));
+            booking.setStatus(Booking.BookingStatus.PENDING);
+            booking.setSpecialRequests(request.getSpecialRequests());
+            bookings.add(booking);
+        }
+
+        // Inserts are flushed together at commit and sent as JDBC batches (hibernate.jdbc.batch_size)
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        List<DailyBookingStatsService.Contribution> contributions = new ArrayList<>();
+        for (Booking booking : saved) {
+            bookingHistoryOutbox.append(booking.getId(), "CREATED", "system",
+                    "Booking created as part of a group of " + saved.size());
+            contributions.add(DailyBookingStatsService.Contribution.of(booking));
+        }
+        dailyBookingStatsService.recordCreated(contributions);
+
+        List<BookingDTO> result = new ArrayList<>();
+        for (Booking booking : saved) {
+            eventPublisher.publishEvent(new DataChangedEvent(Booking.class, booking.getId()));
+            result.add(BookingDTO.fromEntity(booking));
+        }
+        return result;
+    }
+
+    private static BigDecimal stayPrice(Map<Long, BigDecimal> stayPrices, Long roomTypeId) {
+        BigDecimal price = stayPrices.get(roomTypeId);
+        if (price == null) throw new RuntimeException("Room type not found");
+        return price;
+    }
+
+    private record Allocation(Long roomId, GroupBookingRequest.RoomTypeQuantity line) {
+    }
+
+    private static class RoomsTakenException extends RuntimeException {
+        private final Set<Long> roomIds;
+
+        RoomsTakenException(Set<Long> roomIds) {
+            super("Rooms " + roomIds + " are no longer available");
+            this.roomIds = roomIds;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package dev.uit.project.service;
 
 import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.dto.report.*;
 import dev.uit.project.repository.BookingRepository;
 import dev.uit.project.repository.CustomerRepository;
+import dev.uit.project.repository.DailyBookingStatsRepository;
 import dev.uit.project.repository.RoomRepository;
-import org.springframework.data.domain.PageRequest;
+import dev.uit.project.service.report.BookingFactStore;
+import dev.uit.project.service.report.DashboardSnapshotCache;
+import dev.uit.project.service.report.ParallelQueryExecutor;
+import dev.uit.project.service.report.PeriodBuckets;
+import dev.uit.project.service.specification.BookingSpecification;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,134 +19,110 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.*;
-
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reports read one of two copies of the booking data derived from the bookings table:
+ * <ul>
+ *     <li>the {@code daily_booking_stats} rollup: revenue, occupancy, monthly revenue, total revenue and
+ *     the dashboard's revenue, occupancy and today's bookings</li>
+ *     <li>the in-memory {@link BookingFactStore}: booking trends, bookings by status, revenue by room type
+ *     and popular room types</li>
+ * </ul>
+ * Recent bookings and the room, customer and booking counts read the tables directly. Both copies follow
+ * every booking change; {@code POST /api/admin/reports/daily-stats/rebuild} recomputes the rollup and
+ * reloads the facts, for when either has drifted.
+ */
 @Service
 public class ReportService {
 
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final CustomerRepository customerRepository;
+    private final DailyBookingStatsRepository dailyBookingStatsRepository;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+    private final BookingFactStore bookingFactStore;
 
     public ReportService(BookingRepository bookingRepository, RoomRepository roomRepository,
-                         CustomerRepository customerRepository) {
+                         CustomerRepository customerRepository,
+                         DailyBookingStatsRepository dailyBookingStatsRepository,
+                         DashboardSnapshotCache dashboardSnapshotCache,
+                         ParallelQueryExecutor parallelQueryExecutor,
+                         BookingFactStore bookingFactStore) {
         this.bookingRepository = bookingRepository;
         this.roomRepository = roomRepository;
         this.customerRepository = customerRepository;
+        this.dailyBookingStatsRepository = dailyBookingStatsRepository;
+        this.dashboardSnapshotCache = dashboardSnapshotCache;
+        this.parallelQueryExecutor = parallelQueryExecutor;
+        this.bookingFactStore = bookingFactStore;
     }
 
     @Transactional(readOnly = true)
-    public Map<String, Object> getRevenueReport(LocalDate startDate, LocalDate endDate,
-                                                 String groupBy) {
-        Map<String, Object> report = new LinkedHashMap<>();
-        BigDecimal totalRevenue = bookingRepository.calculateRevenue(startDate, endDate);
-
-        report.put("startDate", startDate);
-        report.put("endDate", endDate);
-        report.put("totalRevenue", totalRevenue);
-        report.put("groupBy", groupBy);
-
-        // Generate daily/periodic breakdown
-        List<Map<String, Object>> breakdown = new ArrayList<>();
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            LocalDate periodEnd;
-            switch (groupBy != null ? groupBy.toUpperCase() : "DAY") {
-                case "WEEK":
-                    periodEnd = current.plusWeeks(1).minusDays(1);
-                    break;
-                case "MONTH":
-                    periodEnd = current.plusMonths(1).minusDays(1);
-                    break;
-                case "YEAR":
-                    periodEnd = current.plusYears(1).minusDays(1);
-                    break;
-                default:
-                    periodEnd = current;
-            }
-            if (periodEnd.isAfter(endDate)) periodEnd = endDate;
-
-                BigDecimal periodRevenue = bookingRepository.calculateRevenue(current, periodEnd);
-
-            Map<String, Object> period = new LinkedHashMap<>();
-            period.put("startDate", current);
-            period.put("endDate", periodEnd);
-            period.put("revenue", periodRevenue);
-            breakdown.add(period);
-
-            current = periodEnd.plusDays(1);
-        }
-        report.put("breakdown", breakdown);
-
-        return report;
+    public RevenueReport getRevenueReport(LocalDate startDate, LocalDate endDate, String groupBy) {
+        long[] revenueByDay = PeriodBuckets.denseDailyCents(
+                dailyBookingStatsRepository.sumRevenueByDay(startDate, endDate), 1, startDate, endDate);
+
+        // One grouped query per report; buckets are filled in memory
+        RevenueSeries breakdown = PeriodBuckets.revenueBreakdown(revenueByDay, startDate, endDate, groupBy);
+        return new RevenueReport(startDate, endDate, Cents.toDecimal(PeriodBuckets.sum(revenueByDay)),
+                groupBy, breakdown);
     }
 
     @Transactional(readOnly = true)
-    public Map<String, Object> getOccupancyReport(LocalDate startDate, LocalDate endDate) {
+    public OccupancyReport getOccupancyReport(LocalDate startDate, LocalDate endDate) {
         long totalRooms = roomRepository.count();
-        Map<String, Object> report = new LinkedHashMap<>();
-        report.put("totalRooms", totalRooms);
-
-        List<Map<String, Object>> daily = new ArrayList<>();
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            Long occupied = bookingRepository.countOccupiedRoomsOnDate(current);
-            double rate = totalRooms > 0 ? (double) occupied / totalRooms * 100 : 0;
-
-            Map<String, Object> day = new LinkedHashMap<>();
-            day.put("date", current);
-            day.put("totalRooms", totalRooms);
-            day.put("occupiedRooms", occupied);
-            day.put("occupancyRate", BigDecimal.valueOf(rate).setScale(1, RoundingMode.HALF_UP));
-            daily.add(day);
-
-            current = current.plusDays(1);
-        }
-        report.put("daily", daily);
+        long[] occupiedPerDay = PeriodBuckets.denseDaily(
+                dailyBookingStatsRepository.sumOccupiedByDay(startDate, endDate), startDate, endDate);
+        return new OccupancyReport(totalRooms, new OccupancySeries(startDate, totalRooms, occupiedPerDay));
+    }
 
-        return report;
+    public BookingTrends getBookingTrends(LocalDate startDate, LocalDate endDate) {
+        return new BookingTrends(getTrendSeries(startDate, endDate));
     }
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> getBookingTrends(LocalDate startDate, LocalDate endDate) {
-        List<Map<String, Object>> trends = new ArrayList<>();
-
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            LocalDate dayEnd = current.plusDays(1);
-            Long count = bookingRepository.countBookingsInPeriod(current, dayEnd);
-            BigDecimal dayRevenue = bookingRepository.calculateRevenue(current, current);
-
-            Map<String, Object> day = new LinkedHashMap<>();
-            day.put("date", current);
-            day.put("bookingCount", count != null ? count : 0);
-            day.put("revenue", dayRevenue != null ? dayRevenue : BigDecimal.ZERO);
-            trends.add(day);
-
-            current = current.plusDays(1);
-        }
+    public TrendSeries getTrendSeries(LocalDate startDate, LocalDate endDate) {
+        return bookingFactStore.trends(startDate, endDate);
+    }
 
-        return Map.of("trends", trends);
+    public DashboardOverview getDashboardOverview() {
+        return dashboardSnapshotCache.get(this::computeDashboardOverview);
     }
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> getDashboardOverview() {
-        Map<String, Object> overview = new LinkedHashMap<>();
+    private DashboardOverview computeDashboardOverview() {
         LocalDate today = LocalDate.now();
         LocalDate monthStart = today.withDayOfMonth(1);
         LocalDate lastMonthStart = monthStart.minusMonths(1);
         LocalDate lastMonthEnd = monthStart.minusDays(1);
 
-        long totalRooms = roomRepository.count();
-        long totalCustomers = customerRepository.count();
-        long totalBookings = bookingRepository.count();
-        Long occupiedRooms = bookingRepository.countOccupiedRoomsOnDate(today);
+        // Independent queries run concurrently; latency is bounded by the slowest one
+        CompletableFuture<Long> totalRoomsQuery = parallelQueryExecutor.submit(roomRepository::count);
+        CompletableFuture<Long> totalCustomersQuery = parallelQueryExecutor.submit(customerRepository::count);
+        CompletableFuture<Long> totalBookingsQuery = parallelQueryExecutor.submit(bookingRepository::count);
+        CompletableFuture<Long> occupiedRoomsQuery = parallelQueryExecutor.submit(
+                () -> dailyBookingStatsRepository.sumOccupiedOnDate(today));
+        CompletableFuture<BigDecimal> monthlyRevenueQuery = parallelQueryExecutor.submit(
+                () -> dailyBookingStatsRepository.sumRevenue(monthStart, today));
+        CompletableFuture<BigDecimal> lastMonthRevenueQuery = parallelQueryExecutor.submit(
+                () -> dailyBookingStatsRepository.sumRevenue(lastMonthStart, lastMonthEnd));
+        CompletableFuture<Long> todayBookingsQuery = parallelQueryExecutor.submit(
+                () -> dailyBookingStatsRepository.sumCreatedOnDate(today));
+
+        long totalRooms = ParallelQueryExecutor.join(totalRoomsQuery);
+        long totalCustomers = ParallelQueryExecutor.join(totalCustomersQuery);
+        long totalBookings = ParallelQueryExecutor.join(totalBookingsQuery);
+        Long occupiedRooms = ParallelQueryExecutor.join(occupiedRoomsQuery);
         if (occupiedRooms == null) occupiedRooms = 0L;
         
-        BigDecimal monthlyRevenue = bookingRepository.calculateRevenue(monthStart, today);
+        BigDecimal monthlyRevenue = ParallelQueryExecutor.join(monthlyRevenueQuery);
         if (monthlyRevenue == null) monthlyRevenue = BigDecimal.ZERO;
         
-        BigDecimal lastMonthRevenue = bookingRepository.calculateRevenue(lastMonthStart, lastMonthEnd);
+        BigDecimal lastMonthRevenue = ParallelQueryExecutor.join(lastMonthRevenueQuery);
         if (lastMonthRevenue == null) lastMonthRevenue = BigDecimal.ZERO;
 
         double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0;
@@ -155,169 +137,117 @@ public class ReportService {
         }
 
         // Today's bookings
-        Long todayBookings = bookingRepository.countBookingsInPeriod(today, today.plusDays(1));
+        Long todayBookings = ParallelQueryExecutor.join(todayBookingsQuery);
         if (todayBookings == null) todayBookings = 0L;
 
-        overview.put("totalRooms", totalRooms);
-        overview.put("totalCustomers", totalCustomers);
-        overview.put("totalBookings", totalBookings);
-        overview.put("monthlyRevenue", monthlyRevenue);
-        overview.put("totalRevenue", monthlyRevenue);
-        overview.put("occupiedRooms", occupiedRooms);
-        overview.put("availableRooms", totalRooms - occupiedRooms);
-        overview.put("occupancyRate", BigDecimal.valueOf(occupancyRate).setScale(1, RoundingMode.HALF_UP));
-        overview.put("revenueGrowth", revenueGrowth);
-        overview.put("todayBookings", todayBookings);
-
-        return overview;
+        return new DashboardOverview(totalRooms, totalCustomers, totalBookings, monthlyRevenue, monthlyRevenue,
+                occupiedRooms, totalRooms - occupiedRooms,
+                BigDecimal.valueOf(occupancyRate).setScale(1, RoundingMode.HALF_UP),
+                revenueGrowth, todayBookings, null, null);
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getMonthlyRevenue(int months) {
-        List<Map<String, Object>> result = new ArrayList<>();
+    public List<MonthlyRevenue> getMonthlyRevenue(int months) {
+        List<MonthlyRevenue> result = new ArrayList<>();
         YearMonth current = YearMonth.now();
-        
-        for (int i = months - 1; i >= 0; i--) {
-            YearMonth month = current.minusMonths(i);
-            LocalDate start = month.atDay(1);
-            LocalDate end = month.atEndOfMonth();
-            
-            BigDecimal revenue = bookingRepository.calculateRevenue(start, end);
-            Long bookingCount = bookingRepository.countBookingsInPeriod(start, end.plusDays(1));
-            
-            Map<String, Object> monthData = new LinkedHashMap<>();
-            monthData.put("month", month.getMonth().toString().substring(0, 3));
-            monthData.put("year", month.getYear());
-            monthData.put("revenue", revenue != null ? revenue : BigDecimal.ZERO);
-            monthData.put("bookings", bookingCount != null ? bookingCount : 0);
-            result.add(monthData);
+        if (months <= 0) return result;
+
+        YearMonth first = current.minusMonths(months - 1);
+        LocalDate rangeStart = first.atDay(1);
+        LocalDate rangeEnd = current.atEndOfMonth();
+
+        // One grouped query regardless of how many months are requested
+        Map<YearMonth, Object[]> statsByMonth = new HashMap<>();
+        for (Object[] row : dailyBookingStatsRepository.sumByMonth(rangeStart, rangeEnd)) {
+            statsByMonth.put(PeriodBuckets.toYearMonth(row), row);
+        }
+
+        for (YearMonth month = first; !month.isAfter(current); month = month.plusMonths(1)) {
+            Object[] stats = statsByMonth.get(month);
+            result.add(new MonthlyRevenue(month.getMonth().toString().substring(0, 3), month.getYear(),
+                    stats != null ? (BigDecimal) stats[2] : BigDecimal.ZERO,
+                    stats != null ? ((Number) stats[3]).longValue() : 0L));
         }
         
         return result;
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getRecentBookings(int limit) {
-        List<Map<String, Object>> result = new ArrayList<>();
+    public List<RecentBooking> getRecentBookings(int limit) {
+        List<RecentBooking> result = new ArrayList<>();
         
-        List<Booking> recentBookings = bookingRepository.findAll(
-            PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"))
-        ).getContent();
+        List<Booking> recentBookings = bookingRepository.findBy(BookingSpecification.fetchCustomerAndRoom(),
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "createdAt", "id")).limit(limit).all());
         
         for (Booking booking : recentBookings) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("id", booking.getId());
-            item.put("customerName", booking.getCustomer() != null ? booking.getCustomer().getFullName() : "N/A");
-            item.put("customerEmail", booking.getCustomer() != null ? booking.getCustomer().getEmail() : "N/A");
-            item.put("roomNumber", booking.getRoom() != null ? booking.getRoom().getRoomNumber() : "N/A");
-            item.put("checkInDate", booking.getCheckInDate());
-            item.put("checkOutDate", booking.getCheckOutDate());
-            item.put("totalPrice", booking.getTotalPrice());
-            item.put("status", booking.getStatus() != null ? booking.getStatus().name() : "UNKNOWN");
-            item.put("createdAt", booking.getCreatedAt());
-            result.add(item);
+            result.add(new RecentBooking(
+                    booking.getId(),
+                    booking.getCustomer() != null ? booking.getCustomer().getFullName() : "N/A",
+                    booking.getCustomer() != null ? booking.getCustomer().getEmail() : "N/A",
+                    booking.getRoom() != null ? booking.getRoom().getRoomNumber() : "N/A",
+                    booking.getCheckInDate(),
+                    booking.getCheckOutDate(),
+                    booking.getTotalPrice(),
+                    booking.getStatus() != null ? booking.getStatus().name() : "UNKNOWN",
+                    booking.getCreatedAt()));
         }
         
         return result;
     }
 
     @Transactional(readOnly = true)
-    public Map<String, Object> getDetailedOccupancy(LocalDate date) {
+    public OccupancySnapshot getDetailedOccupancy(LocalDate date) {
         long totalRooms = roomRepository.count();
-        Long occupiedRooms = bookingRepository.countOccupiedRoomsOnDate(date);
+        Long occupiedRooms = dailyBookingStatsRepository.sumOccupiedOnDate(date);
         if (occupiedRooms == null) occupiedRooms = 0L;
         
         double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0;
 
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("date", date);
-        result.put("totalRooms", totalRooms);
-        result.put("occupiedRooms", occupiedRooms);
-        result.put("availableRooms", totalRooms - occupiedRooms);
-        result.put("occupancyRate", BigDecimal.valueOf(occupancyRate).setScale(1, RoundingMode.HALF_UP));
-        
-        return result;
+        return new OccupancySnapshot(date, totalRooms, occupiedRooms, totalRooms - occupiedRooms,
+                BigDecimal.valueOf(occupancyRate).setScale(1, RoundingMode.HALF_UP));
     }
 
     @Transactional(readOnly = true)
     public BigDecimal getTotalRevenue(LocalDate startDate, LocalDate endDate) {
-        BigDecimal revenue = bookingRepository.calculateRevenue(startDate, endDate);
+        BigDecimal revenue = dailyBookingStatsRepository.sumRevenue(startDate, endDate);
         return revenue != null ? revenue : BigDecimal.ZERO;
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getRoomsByType() {
-        List<Map<String, Object>> result = new ArrayList<>();
-        List<Object[]> data = roomRepository.countRoomsByType();
-        
-        for (Object[] row : data) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("roomType", row[0]);
-            item.put("count", row[1]);
-            result.add(item);
+    public List<RoomTypeCount> getRoomsByType() {
+        List<RoomTypeCount> result = new ArrayList<>();
+        for (Object[] row : roomRepository.countRoomsByType()) {
+            result.add(new RoomTypeCount((String) row[0], ((Number) row[1]).longValue()));
         }
-        
         return result;
     }
 
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> getRoomsByStatus() {
-        List<Map<String, Object>> result = new ArrayList<>();
-        List<Object[]> data = roomRepository.countRoomsByStatus();
-        
-        for (Object[] row : data) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("status", row[0].toString());
-            item.put("count", row[1]);
-            result.add(item);
+    public List<StatusCount> getRoomsByStatus() {
+        List<StatusCount> result = new ArrayList<>();
+        for (Object[] row : roomRepository.countRoomsByStatus()) {
+            result.add(new StatusCount(row[0].toString(), ((Number) row[1]).longValue()));
         }
-        
         return result;
     }
 
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> getBookingsByStatus() {
-        List<Map<String, Object>> result = new ArrayList<>();
-        List<Object[]> data = bookingRepository.countBookingsByStatus();
-        
-        for (Object[] row : data) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("status", row[0].toString());
-            item.put("count", row[1]);
-            result.add(item);
-        }
-        
-        return result;
+    public List<StatusCount> getBookingsByStatus() {
+        return bookingFactStore.countByStatus();
     }
 
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> getRevenueByRoomType() {
-        List<Map<String, Object>> result = new ArrayList<>();
-        List<Object[]> data = bookingRepository.getRevenueByRoomType();
-        
-        for (Object[] row : data) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("roomType", row[0]);
-            item.put("bookingCount", row[1]);
-            item.put("revenue", row[2]);
-            result.add(item);
-        }
-        
-        return result;
+    public List<RoomTypeRevenue> getRevenueByRoomType() {
+        return bookingFactStore.revenueByRoomType();
     }
 
-    @Transactional(readOnly = true)
-    public List<Map<String, Object>> getPopularRoomTypes(LocalDate startDate, LocalDate endDate) {
-        List<Map<String, Object>> result = new ArrayList<>();
-        List<Object[]> data = bookingRepository.getPopularRoomTypes(startDate, endDate);
-        
-        for (Object[] row : data) {
-            Map<String, Object> item = new LinkedHashMap<>();
-            item.put("roomType", row[0]);
-            item.put("bookingCount", row[1]);
-            result.add(item);
-        }
-        
-        return result;
+    public List<RoomTypeBookings> getPopularRoomTypes(LocalDate startDate, LocalDate endDate) {
+        return bookingFactStore.popularRoomTypes(startDate, endDate);
+    }
+
+    /**
+     * @return number of bookings loaded
+     */
+    public int reloadBookingFacts() {
+        bookingFactStore.load();
+        return bookingFactStore.size();
     }
 }
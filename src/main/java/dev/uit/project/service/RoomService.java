@@ -3,10 +3,15 @@ package dev.uit.project.service;
 import dev.uit.project.domain.Room;
 import dev.uit.project.domain.RoomType;
 import dev.uit.project.domain.dto.*;
+import dev.uit.project.domain.dto.availability.AvailabilityGrid;
+import dev.uit.project.domain.dto.availability.RoomTypeAvailability;
 import dev.uit.project.repository.RoomRepository;
 import dev.uit.project.repository.RoomTypeRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import dev.uit.project.service.availability.RoomAvailabilityIndex;
+import dev.uit.project.service.event.DataChangedEvent;
+import dev.uit.project.service.pagination.Keyset;
+import dev.uit.project.service.pagination.KeysetRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,16 +19,28 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class RoomService {
 
+    // NOT NULL columns that the room list can be sorted and paged by
+    private static final Set<String> SORTABLE = Set.of("roomNumber", "createdAt");
+
+    private static final int MAX_GRID_DAYS = 366;
+
     private final RoomRepository roomRepository;
     private final RoomTypeRepository roomTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoomAvailabilityIndex roomAvailabilityIndex;
 
-    public RoomService(RoomRepository roomRepository, RoomTypeRepository roomTypeRepository) {
+    public RoomService(RoomRepository roomRepository, RoomTypeRepository roomTypeRepository,
+                       ApplicationEventPublisher eventPublisher, RoomAvailabilityIndex roomAvailabilityIndex) {
         this.roomRepository = roomRepository;
         this.roomTypeRepository = roomTypeRepository;
+        this.eventPublisher = eventPublisher;
+        this.roomAvailabilityIndex = roomAvailabilityIndex;
     }
 
     // Room Type operations
@@ -50,7 +67,9 @@ public class RoomService {
         if (request.getImages() != null) roomType.setImages(request.getImages());
         if (request.getAmenities() != null) roomType.setAmenities(request.getAmenities());
 
-        return RoomTypeDTO.fromEntity(roomTypeRepository.save(roomType));
+        RoomType saved = roomTypeRepository.save(roomType);
+        eventPublisher.publishEvent(new DataChangedEvent(RoomType.class, saved.getId()));
+        return RoomTypeDTO.fromEntity(saved);
     }
 
     @Transactional
@@ -65,13 +84,15 @@ public class RoomService {
         if (request.getImages() != null) roomType.setImages(request.getImages());
         if (request.getAmenities() != null) roomType.setAmenities(request.getAmenities());
 
-        return RoomTypeDTO.fromEntity(roomTypeRepository.save(roomType));
+        RoomType saved = roomTypeRepository.save(roomType);
+        eventPublisher.publishEvent(new DataChangedEvent(RoomType.class, saved.getId()));
+        return RoomTypeDTO.fromEntity(saved);
     }
 
     // Room operations
     @Transactional(readOnly = true)
-    public Page<RoomDTO> getAllRooms(Room.RoomStatus status, Long roomTypeId, Integer floor,
-                                     Pageable pageable) {
+    public KeysetPage<RoomDTO> getAllRooms(Room.RoomStatus status, Long roomTypeId, Integer floor,
+                                           KeysetRequest request) {
         Specification<Room> spec = Specification.where((root, query, cb) -> cb.conjunction());
 
         if (status != null) {
@@ -83,7 +104,7 @@ public class RoomService {
         if (floor != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("floor"), floor));
         }
-        return roomRepository.findAll(spec, pageable).map(RoomDTO::fromEntity);
+        return Keyset.scroll(roomRepository, spec, request, SORTABLE, RoomDTO::fromEntity);
     }
 
     @Transactional
@@ -103,6 +124,7 @@ public class RoomService {
         }
 
         List<Room> saved = roomRepository.saveAll(rooms);
+        eventPublisher.publishEvent(new DataChangedEvent(Room.class, null));
         return saved.stream().map(RoomDTO::fromEntity).toList();
     }
 
@@ -111,12 +133,63 @@ public class RoomService {
         Room room = roomRepository.findById(roomId)
                 .orElseThrow(() -> new RuntimeException("Room not found with id: " + roomId));
         room.setStatus(status);
-        return RoomDTO.fromEntity(roomRepository.save(room));
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new DataChangedEvent(Room.class, saved.getId()));
+        return RoomDTO.fromEntity(saved);
     }
 
-    @Transactional(readOnly = true)
     public List<RoomDTO> getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate) {
-        return roomRepository.findAvailableRooms(checkInDate, checkOutDate)
-                .stream().map(RoomDTO::fromEntity).toList();
+        return roomAvailabilityIndex.findAvailableRooms(checkInDate, checkOutDate);
+    }
+
+    public List<RoomTypeAvailability> getAvailabilityByRoomType(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("checkOutDate must be after checkInDate");
+        }
+        return roomAvailabilityIndex.countAvailableByRoomType(checkInDate, checkOutDate);
+    }
+
+    /**
+     * Builds the front-desk calendar from one query over rooms left-joined to the bookings in the window.
+     * Days are inclusive; a booking covers the nights [checkIn, checkOut).
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityGrid getAvailabilityGrid(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+        if (days > MAX_GRID_DAYS) {
+            throw new IllegalArgumentException("Grid window cannot exceed " + MAX_GRID_DAYS + " days");
+        }
+
+        long first = startDate.toEpochDay();
+        List<AvailabilityGrid.RoomRow> rows = new ArrayList<>();
+        List<AvailabilityGrid.Segment> segments = null;
+        Long currentRoomId = null;
+        int coveredUntil = 0;
+        for (Object[] row : roomRepository.findRoomsWithBookingsOverlapping(startDate, endDate)) {
+            Long roomId = (Long) row[0];
+            if (!roomId.equals(currentRoomId)) {
+                currentRoomId = roomId;
+                segments = new ArrayList<>();
+                coveredUntil = 0;
+                rows.add(new AvailabilityGrid.RoomRow(roomId, (String) row[1], (Integer) row[2], (String) row[3],
+                        row[4].toString(), segments));
+            }
+            if (row[5] == null) continue;
+
+            // Clip to the window; if a room is double booked the earlier booking keeps the overlapping days
+            int start = (int) Math.max(((LocalDate) row[6]).toEpochDay() - first, coveredUntil);
+            int end = (int) Math.min(((LocalDate) row[7]).toEpochDay() - first, days);
+            if (end <= start) continue;
+            segments.add(new AvailabilityGrid.Segment(start, end - start, (Long) row[5], row[8].toString()));
+            coveredUntil = end;
+        }
+        return new AvailabilityGrid(startDate, endDate, days, rows);
+    }
+
+    public Map<String, Object> checkAvailabilityIndex() {
+        return roomAvailabilityIndex.checkConsistency();
     }
 }
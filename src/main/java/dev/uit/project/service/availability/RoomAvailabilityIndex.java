@@ -0,0 +1,349 @@
+package dev.uit.project.service.availability;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.RoomType;
+import dev.uit.project.domain.dto.RoomDTO;
+import dev.uit.project.domain.dto.availability.RoomTypeAvailability;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.RoomRepository;
+import dev.uit.project.service.event.AfterCommitRefresher;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory view of which rooms are booked on which days, so availability searches do not hit the
+ * database. Each room holds the [check-in, check-out) intervals of its active bookings (not cancelled
+ * or checked out). Writes are serialized and replace a room's intervals copy-on-write; reads take no lock.
+ * Kept in sync from {@link DataChangedEvent}s, refreshed on a background thread shortly after each
+ * commit; {@link #checkConsistency()} compares it against the database and rebuilds it on drift.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object writeLock = new Object();
+    private final AfterCommitRefresher refresher = new AfterCommitRefresher("availability-index-refresh");
+
+    // Replaced as a whole on (re)load so readers never observe a half-built index
+    private volatile State state = new State();
+    private volatile boolean loaded;
+
+    public RoomAvailabilityIndex(RoomRepository roomRepository, BookingRepository bookingRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (writeLock) {
+            State fresh = new State();
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                for (Room room : roomRepository.findAllWithRoomType()) {
+                    fresh.rooms.put(room.getId(), RoomDTO.fromEntity(room));
+                }
+                for (Object[] stay : bookingRepository.findActiveStays()) {
+                    fresh.addStay((Long) stay[0], (Long) stay[1], (LocalDate) stay[2], (LocalDate) stay[3]);
+                }
+            });
+            state = fresh;
+            loaded = true;
+            log.info("Loaded availability index: {} rooms, {} active bookings",
+                    fresh.rooms.size(), fresh.roomByBooking.size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        Class<?> type = event.entityType();
+        if (type != Booking.class && type != Room.class && type != RoomType.class) return;
+        Long id = event.entityId();
+        refresher.execute(() -> {
+            try {
+                refresh(type, id);
+            } catch (RuntimeException e) {
+                // Left for checkConsistency() to repair
+                log.warn("Could not refresh the availability index for {} {}", type.getSimpleName(), id, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    private void refresh(Class<?> type, Long id) {
+        synchronized (writeLock) {
+            // Checked under the lock: a change committed before load() started is picked up by it
+            if (!loaded) return;
+            if (id == null || type == RoomType.class) {
+                if (type == Booking.class) {
+                    load();
+                } else {
+                    readOnlyTransaction.executeWithoutResult(tx -> reloadRooms());
+                }
+                return;
+            }
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                if (type == Room.class) {
+                    refreshRoom(id);
+                } else {
+                    refreshBooking(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rooms in AVAILABLE status with no active booking overlapping [checkInDate, checkOutDate), as copies
+     * the caller may change.
+     */
+    public List<RoomDTO> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate) {
+        ensureLoaded();
+        int from = (int) checkInDate.toEpochDay();
+        int to = (int) checkOutDate.toEpochDay();
+        State current = state;
+        List<RoomDTO> result = new ArrayList<>();
+        for (RoomDTO room : current.rooms.values()) {
+            if (room.getStatus() != Room.RoomStatus.AVAILABLE) continue;
+            RoomIntervals booked = current.bookedByRoom.get(room.getId());
+            if (booked == null || !booked.overlaps(from, to)) {
+                result.add(copyOf(room));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Free days bordering [checkInDate, checkOutDate) in a room that is free for it, each side capped
+     * at {@code capDays}; a smaller value means the stay fits a gap more tightly.
+     */
+    public int slackDays(Long roomId, LocalDate checkInDate, LocalDate checkOutDate, int capDays) {
+        ensureLoaded();
+        RoomIntervals booked = state.bookedByRoom.get(roomId);
+        if (booked == null) return 2 * capDays;
+        return booked.slackAround((int) checkInDate.toEpochDay(), (int) checkOutDate.toEpochDay(), capDays);
+    }
+
+    /**
+     * Per room type, the rooms free for the whole stay [checkInDate, checkOutDate) and the minimum
+     * number of rooms free on any single night of it. Only rooms in AVAILABLE status count as free.
+     */
+    public List<RoomTypeAvailability> countAvailableByRoomType(LocalDate checkInDate, LocalDate checkOutDate) {
+        ensureLoaded();
+        int from = (int) checkInDate.toEpochDay();
+        int to = (int) checkOutDate.toEpochDay();
+        int nights = to - from;
+        State current = state;
+
+        Map<Long, TypeCounter> counters = new LinkedHashMap<>();
+        for (RoomDTO room : current.rooms.values()) {
+            TypeCounter counter = counters.computeIfAbsent(room.getRoomTypeId(),
+                    id -> new TypeCounter(room.getRoomTypeName(), nights));
+            counter.total++;
+            if (room.getStatus() != Room.RoomStatus.AVAILABLE) continue;
+
+            counter.freeStatus++;
+            RoomIntervals booked = current.bookedByRoom.get(room.getId());
+            if (booked == null || !booked.overlaps(from, to)) {
+                counter.available++;
+                continue;
+            }
+            // Mark the nights this room is taken, merging overlapping bookings so a night counts once
+            int busyUntil = from;
+            for (int i = 0, n = booked.startsBefore(to); i < n; i++) {
+                int start = Math.max(booked.start(i), busyUntil);
+                int end = Math.min(booked.end(i), to);
+                if (end <= start) continue;
+                counter.busyDelta[start - from]++;
+                counter.busyDelta[end - from]--;
+                busyUntil = end;
+            }
+        }
+
+        List<RoomTypeAvailability> result = new ArrayList<>();
+        for (Map.Entry<Long, TypeCounter> entry : counters.entrySet()) {
+            TypeCounter counter = entry.getValue();
+            int busy = 0;
+            int maxBusy = 0;
+            for (int night = 0; night < nights; night++) {
+                busy += counter.busyDelta[night];
+                maxBusy = Math.max(maxBusy, busy);
+            }
+            result.add(new RoomTypeAvailability(entry.getKey(), counter.name, counter.total, counter.available,
+                    counter.freeStatus - maxBusy));
+        }
+        return result;
+    }
+
+    /**
+     * Compares rooms and active bookings with the database and rebuilds the index if they differ.
+     */
+    public Map<String, Object> checkConsistency() {
+        ensureLoaded();
+        synchronized (writeLock) {
+            State current = state;
+            int[] mismatches = new int[1];
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                Map<Long, Room.RoomStatus> dbRooms = new HashMap<>();
+                for (Room room : roomRepository.findAll()) {
+                    dbRooms.put(room.getId(), room.getStatus());
+                    RoomDTO indexed = current.rooms.get(room.getId());
+                    if (indexed == null || indexed.getStatus() != room.getStatus()) mismatches[0]++;
+                }
+                for (Long roomId : current.rooms.keySet()) {
+                    if (!dbRooms.containsKey(roomId)) mismatches[0]++;
+                }
+
+                Map<Long, Object[]> dbStays = new HashMap<>();
+                for (Object[] stay : bookingRepository.findActiveStays()) {
+                    dbStays.put((Long) stay[0], stay);
+                }
+                for (Object[] stay : dbStays.values()) {
+                    if (!current.contains((Long) stay[0], (Long) stay[1], (LocalDate) stay[2], (LocalDate) stay[3])) {
+                        mismatches[0]++;
+                    }
+                }
+                for (Long bookingId : current.roomByBooking.keySet()) {
+                    if (!dbStays.containsKey(bookingId)) mismatches[0]++;
+                }
+            });
+
+            boolean rebuilt = mismatches[0] > 0;
+            if (rebuilt) {
+                log.warn("Availability index differed from the database in {} entries, rebuilding", mismatches[0]);
+                load();
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("rooms", state.rooms.size());
+            result.put("activeBookings", state.roomByBooking.size());
+            result.put("mismatches", mismatches[0]);
+            result.put("rebuilt", rebuilt);
+            return result;
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (writeLock) {
+            if (!loaded) load();
+        }
+    }
+
+    private void reloadRooms() {
+        Map<Long, RoomDTO> fresh = new HashMap<>();
+        for (Room room : roomRepository.findAllWithRoomType()) {
+            fresh.put(room.getId(), RoomDTO.fromEntity(room));
+        }
+        state.rooms.keySet().retainAll(fresh.keySet());
+        state.rooms.putAll(fresh);
+    }
+
+    private void refreshRoom(Long roomId) {
+        roomRepository.findWithRoomTypeById(roomId).ifPresentOrElse(
+                room -> state.rooms.put(roomId, RoomDTO.fromEntity(room)),
+                () -> state.rooms.remove(roomId));
+    }
+
+    private void refreshBooking(Long bookingId) {
+        state.removeStay(bookingId);
+        List<Object[]> rows = bookingRepository.findStayById(bookingId);
+        if (rows.isEmpty()) return;
+        Object[] stay = rows.get(0);
+        Booking.BookingStatus status = (Booking.BookingStatus) stay[4];
+        if (status == Booking.BookingStatus.CANCELLED || status == Booking.BookingStatus.CHECKED_OUT) return;
+        state.addStay(bookingId, (Long) stay[1], (LocalDate) stay[2], (LocalDate) stay[3]);
+    }
+
+    private static RoomDTO copyOf(RoomDTO room) {
+        RoomDTO copy = new RoomDTO();
+        copy.setId(room.getId());
+        copy.setRoomTypeId(room.getRoomTypeId());
+        copy.setRoomTypeName(room.getRoomTypeName());
+        copy.setRoomNumber(room.getRoomNumber());
+        copy.setFloor(room.getFloor());
+        copy.setStatus(room.getStatus());
+        copy.setNotes(room.getNotes());
+        copy.setCreatedAt(room.getCreatedAt());
+        copy.setUpdatedAt(room.getUpdatedAt());
+        return copy;
+    }
+
+    private static final class TypeCounter {
+
+        final String name;
+        final int[] busyDelta;
+        int total;
+        int freeStatus;
+        int available;
+
+        TypeCounter(String name, int nights) {
+            this.name = name;
+            this.busyDelta = new int[nights + 1];
+        }
+    }
+
+    private static final class State {
+
+        final ConcurrentSkipListMap<Long, RoomDTO> rooms = new ConcurrentSkipListMap<>();
+        final ConcurrentHashMap<Long, RoomIntervals> bookedByRoom = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, Long> roomByBooking = new ConcurrentHashMap<>();
+
+        void addStay(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+            bookedByRoom.compute(roomId, (id, booked) -> (booked != null ? booked : RoomIntervals.EMPTY)
+                    .with(bookingId, (int) checkIn.toEpochDay(), (int) checkOut.toEpochDay()));
+            roomByBooking.put(bookingId, roomId);
+        }
+
+        void removeStay(Long bookingId) {
+            Long roomId = roomByBooking.remove(bookingId);
+            if (roomId == null) return;
+            bookedByRoom.computeIfPresent(roomId, (id, booked) -> {
+                RoomIntervals remaining = booked.without(bookingId);
+                return remaining.size() > 0 ? remaining : null;
+            });
+        }
+
+        boolean contains(Long bookingId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+            if (!Objects.equals(roomByBooking.get(bookingId), roomId)) return false;
+            RoomIntervals booked = bookedByRoom.get(roomId);
+            if (booked == null) return false;
+            for (int i = 0; i < booked.size(); i++) {
+                if (booked.bookingId(i) == bookingId) {
+                    return booked.start(i) == checkIn.toEpochDay() && booked.end(i) == checkOut.toEpochDay();
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dev.uit.project.service.availability;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of booked [start, end) epoch-day intervals of one room, sorted by start.
+ * {@code maxEnd[i]} is the latest end among intervals 0..i, so an overlap test is one binary search
+ * even if the room was double booked.
+ */
+final class RoomIntervals {
+
+    static final RoomIntervals EMPTY = new RoomIntervals(new long[0], new int[0], new int[0]);
+
+    private final long[] bookingIds;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnd;
+
+    private RoomIntervals(long[] bookingIds, int[] starts, int[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnd = new int[ends.length];
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnd[i] = max;
+        }
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    long bookingId(int index) {
+        return bookingIds[index];
+    }
+
+    int start(int index) {
+        return starts[index];
+    }
+
+    int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Whether any interval intersects [from, to).
+     */
+    boolean overlaps(int from, int to) {
+        int before = startsBefore(to);
+        return before > 0 && maxEnd[before - 1] > from;
+    }
+
+    /**
+     * Free days directly before and after [from, to), each side capped at {@code cap}.
+     * Only meaningful when the range itself is free.
+     */
+    int slackAround(int from, int to, int cap) {
+        int before = startsBefore(from);
+        int freeBefore = before > 0 ? from - maxEnd[before - 1] : cap;
+        int after = startsBefore(to);
+        int freeAfter = after < starts.length ? starts[after] - to : cap;
+        return Math.min(freeBefore, cap) + Math.min(freeAfter, cap);
+    }
+
+    /**
+     * Number of intervals starting before {@code day}.
+     */
+    int startsBefore(int day) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    RoomIntervals with(long bookingId, int start, int end) {
+        RoomIntervals base = without(bookingId);
+        int at = base.startsBefore(start);
+        int n = base.size();
+        long[] ids = new long[n + 1];
+        int[] newStarts = new int[n + 1];
+        int[] newEnds = new int[n + 1];
+        System.arraycopy(base.bookingIds, 0, ids, 0, at);
+        System.arraycopy(base.starts, 0, newStarts, 0, at);
+        System.arraycopy(base.ends, 0, newEnds, 0, at);
+        ids[at] = bookingId;
+        newStarts[at] = start;
+        newEnds[at] = end;
+        System.arraycopy(base.bookingIds, at, ids, at + 1, n - at);
+        System.arraycopy(base.starts, at, newStarts, at + 1, n - at);
+        System.arraycopy(base.ends, at, newEnds, at + 1, n - at);
+        return new RoomIntervals(ids, newStarts, newEnds);
+    }
+
+    RoomIntervals without(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] != bookingId) continue;
+            if (bookingIds.length == 1) return EMPTY;
+            return new RoomIntervals(remove(bookingIds, i), remove(starts, i), remove(ends, i));
+        }
+        return this;
+    }
+
+    private static long[] remove(long[] values, int index) {
+        long[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static int[] remove(int[] values, int index) {
+        int[] result = Arrays.copyOf(values, values.length - 1);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+}
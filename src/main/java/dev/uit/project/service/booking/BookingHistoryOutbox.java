@@ -0,0 +1,160 @@
+package dev.uit.project.service.booking;
+
+import dev.uit.project.domain.BookingHistoryOutboxEntry;
+import dev.uit.project.repository.BookingHistoryOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Write-behind booking history. Booking changes {@link #append} a record to
+ * {@code booking_history_outbox} in their own transaction, where Hibernate batches it with the
+ * booking write; the outbox has no foreign key or secondary index to maintain. {@link #flush} moves
+ * the records to {@code booking_history} in JDBC batches and in outbox id order, so each booking's
+ * history keeps the order and timestamps of its changes.
+ * <p>
+ * The outbox is a table, so records not yet moved survive a restart and are moved by the next run.
+ */
+@Component
+public class BookingHistoryOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingHistoryOutbox.class);
+
+    // Oracle rejects IN lists with more than 1000 entries
+    private static final int IN_LIST_LIMIT = 1000;
+    // BOOKING_HISTORY_SEQ increment, see V3__pooled_sequence_increments.sql
+    private static final int ID_BLOCK_SIZE = 50;
+
+    // Oracle does not allow FETCH FIRST together with FOR UPDATE
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id, booking_id, action, performed_by, created_at, notes FROM booking_history_outbox " +
+            "WHERE id IN (SELECT id FROM (SELECT id FROM booking_history_outbox ORDER BY id) WHERE ROWNUM <= ?) " +
+            "ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO booking_history (id, booking_id, action, performed_by, timestamp, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final BookingHistoryOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookingHistoryOutbox(BookingHistoryOutboxRepository outboxRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.booking-history.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public record HistoryRecord(Long bookingId, String action, String performedBy,
+                                LocalDateTime timestamp, String notes) {
+    }
+
+    /**
+     * Records a history entry in the caller's transaction; it reaches {@code booking_history} only
+     * if that transaction commits.
+     */
+    public void append(Long bookingId, String action, String performedBy, String notes) {
+        BookingHistoryOutboxEntry entry = new BookingHistoryOutboxEntry();
+        entry.setBookingId(bookingId);
+        entry.setAction(action);
+        entry.setPerformedBy(performedBy);
+        entry.setNotes(notes);
+        outboxRepository.save(entry);
+    }
+
+    /**
+     * Records of a booking that have not been moved yet, newest first.
+     */
+    public List<BookingHistoryOutboxEntry> pending(Long bookingId) {
+        return outboxRepository.findByBookingIdOrderByIdDesc(bookingId);
+    }
+
+    /**
+     * Moves everything currently in the outbox, one transaction per batch.
+     *
+     * @return number of records moved
+     */
+    @Scheduled(fixedDelayString = "${app.booking-history.flush-interval-ms:1000}")
+    public int flush() {
+        int moved = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(tx -> flushBatch());
+            moved += batch;
+        } while (batch == batchSize);
+        if (moved > 0) {
+            log.debug("Moved {} booking history records from the outbox", moved);
+        }
+        return moved;
+    }
+
+    /**
+     * Batch-inserts rows into {@code booking_history} in list order. Ids are taken from
+     * BOOKING_HISTORY_SEQ in blocks, one NEXTVAL per {@value #ID_BLOCK_SIZE} rows.
+     */
+    public void insert(List<HistoryRecord> records) {
+        if (records.isEmpty()) return;
+        List<Long> ids = nextHistoryIds(records.size());
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            HistoryRecord record = records.get(i);
+            rows.add(new Object[]{ids.get(i), record.bookingId(), record.action(), record.performedBy(),
+                    Timestamp.valueOf(record.timestamp()), record.notes()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, rows, batchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private int flushBatch() {
+        List<Long> ids = new ArrayList<>();
+        List<HistoryRecord> records = new ArrayList<>();
+        jdbcTemplate.query(LOCK_BATCH_SQL, rs -> {
+            ids.add(rs.getLong(1));
+            records.add(new HistoryRecord(rs.getLong(2), rs.getString(3), rs.getString(4),
+                    rs.getTimestamp(5).toLocalDateTime(), rs.getString(6)));
+        }, batchSize);
+        if (ids.isEmpty()) return 0;
+
+        insert(records);
+        for (int from = 0; from < ids.size(); from += IN_LIST_LIMIT) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IN_LIST_LIMIT));
+            jdbcTemplate.update("DELETE FROM booking_history_outbox WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", chunk.toArray());
+        }
+        return ids.size();
+    }
+
+    /**
+     * Each sequence value is the top of a block, as with Hibernate's pooled optimizer. The first
+     * value of a new sequence is 1, which gives a block of its own.
+     */
+    private List<Long> nextHistoryIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long top = jdbcTemplate.queryForObject("SELECT BOOKING_HISTORY_SEQ.NEXTVAL FROM dual", Long.class);
+            for (long id = Math.max(1, top - ID_BLOCK_SIZE + 1); id <= top && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
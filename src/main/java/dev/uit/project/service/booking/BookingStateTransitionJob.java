@@ -0,0 +1,193 @@
+package dev.uit.project.service.booking;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.dto.StateTransitionResult;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.service.DailyBookingStatsService;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Daily roll of booking and room states for a business date, so they no longer depend on someone
+ * clicking through the admin app:
+ * <ul>
+ *     <li>departures: CHECKED_IN bookings whose check-out date has come become CHECKED_OUT</li>
+ *     <li>no-shows: PENDING or CONFIRMED bookings whose arrival day has passed without a check-in
+ *     become CANCELLED (history action NO_SHOW)</li>
+ *     <li>rooms: OCCUPIED exactly when a booking is checked in; RESERVED rooms without an upcoming
+ *     booking become AVAILABLE. MAINTENANCE is left alone.</li>
+ * </ul>
+ * Arrivals are not checked in here; the front desk checks guests in when they turn up
+ * ({@code PUT /api/admin/bookings/bulk/status} with CHECKED_IN), so a confirmed booking that is still
+ * not checked in the day after its arrival date is a no-show.
+ * <p>
+ * Each transition locks its bookings with one SELECT ... FOR UPDATE, changes them with bulk UPDATEs
+ * and writes the history rows as JDBC batches. Room statuses are derived afterwards in a second
+ * transaction, so the job never holds booking and room locks at the same time.
+ */
+@Component
+public class BookingStateTransitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStateTransitionJob.class);
+
+    // Oracle rejects IN lists with more than 1000 entries
+    private static final int IN_LIST_LIMIT = 1000;
+
+    private static final String OCCUPY_ROOMS_SQL =
+            "UPDATE rooms SET status = ?, updated_at = ? WHERE status IN (?, ?) " +
+            "AND id IN (SELECT b.room_id FROM bookings b WHERE b.status = ?)";
+
+    private static final String VACATE_ROOMS_SQL =
+            "UPDATE rooms SET status = ?, updated_at = ? WHERE status = ? " +
+            "AND id NOT IN (SELECT b.room_id FROM bookings b WHERE b.status = ?)";
+
+    private static final String RELEASE_ROOMS_SQL =
+            "UPDATE rooms SET status = ?, updated_at = ? WHERE status = ? " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = rooms.id " +
+            "AND b.status IN (?, ?) AND b.check_out_date > ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final DailyBookingStatsService dailyBookingStatsService;
+    private final BookingHistoryOutbox bookingHistoryOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingStateTransitionJob(JdbcTemplate jdbcTemplate,
+                                     BookingRepository bookingRepository,
+                                     DailyBookingStatsService dailyBookingStatsService,
+                                     BookingHistoryOutbox bookingHistoryOutbox,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.dailyBookingStatsService = dailyBookingStatsService;
+        this.bookingHistoryOutbox = bookingHistoryOutbox;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.state-transitions.cron:0 5 0 * * *}")
+    public void runScheduled() {
+        run(LocalDate.now());
+    }
+
+    /**
+     * Applies all transitions due on {@code businessDate}. Safe to run repeatedly; a second run finds
+     * nothing left to change.
+     */
+    public StateTransitionResult run(LocalDate businessDate) {
+        long start = System.nanoTime();
+        // Earlier history of these bookings goes first, so history ids follow the order of changes
+        bookingHistoryOutbox.flush();
+        int[] bookings = transactionTemplate.execute(tx -> transitionBookings(businessDate));
+        int rooms = transactionTemplate.execute(tx -> syncRoomStatuses(businessDate));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        StateTransitionResult result =
+                new StateTransitionResult(businessDate, bookings[0], bookings[1], rooms, elapsedMs);
+        log.info("State transitions for {}: {} checked out, {} no-shows, {} rooms updated in {} ms",
+                businessDate, result.checkedOut(), result.noShows(), rooms, elapsedMs);
+        return result;
+    }
+
+    private int[] transitionBookings(LocalDate businessDate) {
+        List<Long> departures = lockBookingIds("status = ? AND check_out_date <= ?",
+                Booking.BookingStatus.CHECKED_IN.name(), businessDate);
+        List<Long> noShows = lockBookingIds("status IN (?, ?) AND check_in_date < ?",
+                Booking.BookingStatus.PENDING.name(), Booking.BookingStatus.CONFIRMED.name(), businessDate);
+
+        // No-shows leave the occupancy and revenue rollup, so capture what they contributed first
+        List<DailyBookingStatsService.Contribution> before = new ArrayList<>();
+        List<DailyBookingStatsService.Contribution> after = new ArrayList<>();
+        for (List<Long> chunk : chunks(noShows)) {
+            for (Object[] row : bookingRepository.findFactsByIds(chunk)) {
+                before.add(DailyBookingStatsService.Contribution.ofFacts(row, (Booking.BookingStatus) row[5]));
+                after.add(DailyBookingStatsService.Contribution.ofFacts(row, Booking.BookingStatus.CANCELLED));
+            }
+        }
+
+        updateStatus(departures, Booking.BookingStatus.CHECKED_OUT);
+        updateStatus(noShows, Booking.BookingStatus.CANCELLED);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingHistoryOutbox.HistoryRecord> history =
+                new ArrayList<>(departures.size() + noShows.size());
+        for (Long id : departures) {
+            history.add(new BookingHistoryOutbox.HistoryRecord(id, "CHECKED_OUT", "system", now,
+                    "Checked out on " + businessDate));
+        }
+        for (Long id : noShows) {
+            history.add(new BookingHistoryOutbox.HistoryRecord(id, "NO_SHOW", "system", now,
+                    "Not checked in, cancelled on " + businessDate));
+        }
+        // Already one batch in a background transaction, so it skips the outbox
+        bookingHistoryOutbox.insert(history);
+
+        if (!before.isEmpty()) {
+            dailyBookingStatsService.recordChanges(before, after);
+        }
+        if (!history.isEmpty()) {
+            // Too many bookings for per-id refreshes; listeners reload instead
+            eventPublisher.publishEvent(new DataChangedEvent(Booking.class, null));
+        }
+        return new int[]{departures.size(), noShows.size()};
+    }
+
+    private int syncRoomStatuses(LocalDate businessDate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String checkedIn = Booking.BookingStatus.CHECKED_IN.name();
+        String available = Room.RoomStatus.AVAILABLE.name();
+        String occupied = Room.RoomStatus.OCCUPIED.name();
+        String reserved = Room.RoomStatus.RESERVED.name();
+
+        int updated = jdbcTemplate.update(OCCUPY_ROOMS_SQL, occupied, now, available, reserved, checkedIn);
+        updated += jdbcTemplate.update(VACATE_ROOMS_SQL, available, now, occupied, checkedIn);
+        updated += jdbcTemplate.update(RELEASE_ROOMS_SQL, available, now, reserved,
+                Booking.BookingStatus.PENDING.name(), Booking.BookingStatus.CONFIRMED.name(), businessDate);
+        if (updated > 0) {
+            eventPublisher.publishEvent(new DataChangedEvent(Room.class, null));
+        }
+        return updated;
+    }
+
+    private List<Long> lockBookingIds(String condition, Object... args) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM bookings WHERE " + condition + " ORDER BY id FOR UPDATE", Long.class, args);
+    }
+
+    private void updateStatus(List<Long> ids, Booking.BookingStatus status) {
+        for (List<Long> chunk : chunks(ids)) {
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = status.name();
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.update("UPDATE bookings SET status = ? WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", args);
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_LIST_LIMIT) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + IN_LIST_LIMIT)));
+        }
+        return chunks;
+    }
+}
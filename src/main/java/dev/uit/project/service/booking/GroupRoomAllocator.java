@@ -0,0 +1,85 @@
+package dev.uit.project.service.booking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Picks rooms of one type for a group. Among all runs of consecutive floors that can hold the group,
+ * it takes the one spanning the fewest floors, and inside it the rooms whose free gap around the stay
+ * is smallest (best fit), so long free stretches in other rooms stay bookable.
+ */
+public final class GroupRoomAllocator {
+
+    /**
+     * A free room. {@code slackDays} is how many free days border the stay before the neighbouring bookings.
+     */
+    public record Candidate(Long roomId, int floor, String roomNumber, int slackDays) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIT = Comparator
+            .comparingInt(Candidate::slackDays)
+            .thenComparingInt(Candidate::floor)
+            .thenComparing(Candidate::roomNumber);
+
+    private GroupRoomAllocator() {
+    }
+
+    /**
+     * @return {@code quantity} rooms, or an empty list if fewer candidates are free
+     */
+    public static List<Candidate> allocate(List<Candidate> candidates, int quantity) {
+        if (quantity <= 0 || candidates.size() < quantity) return List.of();
+
+        TreeMap<Integer, List<Candidate>> byFloor = new TreeMap<>();
+        for (Candidate candidate : candidates) {
+            byFloor.computeIfAbsent(candidate.floor(), f -> new ArrayList<>()).add(candidate);
+        }
+        List<Integer> floors = new ArrayList<>(byFloor.keySet());
+
+        int bestFrom = -1;
+        int bestTo = -1;
+        long bestSlack = Long.MAX_VALUE;
+        int bestSpan = Integer.MAX_VALUE;
+        for (int from = 0; from < floors.size(); from++) {
+            int free = 0;
+            for (int to = from; to < floors.size(); to++) {
+                free += byFloor.get(floors.get(to)).size();
+                if (free < quantity) continue;
+
+                int span = floors.get(to) - floors.get(from);
+                if (span > bestSpan) break;
+                long slack = totalSlack(byFloor, floors, from, to, quantity);
+                if (span < bestSpan || slack < bestSlack) {
+                    bestFrom = from;
+                    bestTo = to;
+                    bestSpan = span;
+                    bestSlack = slack;
+                }
+                break;
+            }
+        }
+
+        return pick(byFloor, floors, bestFrom, bestTo, quantity);
+    }
+
+    private static long totalSlack(TreeMap<Integer, List<Candidate>> byFloor, List<Integer> floors,
+                                   int from, int to, int quantity) {
+        long slack = 0;
+        for (Candidate candidate : pick(byFloor, floors, from, to, quantity)) {
+            slack += candidate.slackDays();
+        }
+        return slack;
+    }
+
+    private static List<Candidate> pick(TreeMap<Integer, List<Candidate>> byFloor, List<Integer> floors,
+                                        int from, int to, int quantity) {
+        List<Candidate> window = new ArrayList<>();
+        for (int i = from; i <= to; i++) {
+            window.addAll(byFloor.get(floors.get(i)));
+        }
+        window.sort(BEST_FIT);
+        return window.subList(0, quantity);
+    }
+}
@@ -0,0 +1,46 @@
+package dev.uit.project.service.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks that serializes booking writes per room within this instance, so only requests
+ * for the same room (or rooms sharing a stripe) wait on each other. Callers take the locks before
+ * opening their transaction and hold them until it has committed.
+ */
+@Component
+public class RoomLockStripes {
+
+    private final ReentrantLock[] stripes;
+
+    public RoomLockStripes(@Value("${app.bookings.room-lock-stripes:64}") int stripeCount) {
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withRoomLocks(Supplier<T> action, Long... roomIds) {
+        // Always lock in stripe order so two writers touching the same rooms cannot deadlock
+        int[] indexes = Arrays.stream(roomIds).mapToInt(this::stripeOf).distinct().sorted().toArray();
+        for (int index : indexes) {
+            stripes[index].lock();
+        }
+        try {
+            return action.get();
+        } finally {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private int stripeOf(Long roomId) {
+        if (roomId == null) return 0;
+        return Math.floorMod(Long.hashCode(roomId) * 0x9E3779B9, stripes.length);
+    }
+}
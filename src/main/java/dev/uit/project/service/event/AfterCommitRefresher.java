@@ -0,0 +1,35 @@
+package dev.uit.project.service.event;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the work an after-commit {@link DataChangedEvent} listener does on its own named thread, one
+ * task at a time in the order the commits were reported.
+ * <p>
+ * After-commit listeners run on the committing thread, which still holds its connection. Reading the
+ * changed data there needs a second one, and enough writers waiting on a listener's lock can take the
+ * whole pool while the lock holder waits for a connection. Handing the work to this thread keeps the
+ * listener to one connection at a time, and running the tasks in order means the last refresh of an
+ * entity reads its latest state.
+ */
+public class AfterCommitRefresher {
+
+    private final ExecutorService executor;
+
+    public AfterCommitRefresher(String threadName) {
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,9 @@
+package dev.uit.project.service.event;
+
+/**
+ * Published by the services whenever they write data that reports or caches depend on.
+ * Listeners that care about consistency should use {@code @TransactionalEventListener}
+ * so they only react once the change is committed.
+ */
+public record DataChangedEvent(Class<?> entityType, Long entityId) {
+}
@@ -0,0 +1,38 @@
+package dev.uit.project.service.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) return CSV;
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+
+    /**
+     * Sets content type and attachment headers; must be called before the body is written.
+     */
+    public void applyHeaders(HttpServletResponse response, String fileBaseName) {
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"" + fileBaseName + "." + extension + "\"");
+    }
+}
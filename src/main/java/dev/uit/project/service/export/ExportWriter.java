@@ -0,0 +1,120 @@
+package dev.uit.project.service.export;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows straight to the response writer, one at a time, so exports use constant memory.
+ */
+public abstract class ExportWriter {
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    protected final Writer out;
+    protected final List<String> columns;
+    private int pendingRows;
+
+    protected ExportWriter(Writer out, List<String> columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    public static ExportWriter open(ExportFormat format, Writer out, List<String> columns, JsonMapper jsonMapper) {
+        ExportWriter writer = format == ExportFormat.NDJSON
+                ? new NdjsonWriter(out, columns, jsonMapper)
+                : new CsvWriter(out, columns);
+        writer.start();
+        return writer;
+    }
+
+    public void writeRow(Object... values) {
+        try {
+            write(values);
+            if (++pendingRows >= FLUSH_EVERY_ROWS) {
+                out.flush();
+                pendingRows = 0;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void finish() {
+        try {
+            out.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    protected void start() {
+    }
+
+    protected abstract void write(Object[] values) throws IOException;
+
+    static final class CsvWriter extends ExportWriter {
+
+        CsvWriter(Writer out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        protected void start() {
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) out.write(',');
+                writeCell(values[i]);
+            }
+            out.write("\r\n");
+        }
+
+        private void writeCell(Object value) throws IOException {
+            if (value == null) return;
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            // Spreadsheets evaluate text starting with these as a formula; numbers such as -12.50 are left alone
+            if (!(value instanceof Number) && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                    || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(text);
+                return;
+            }
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    static final class NdjsonWriter extends ExportWriter {
+
+        private final JsonMapper jsonMapper;
+
+        NdjsonWriter(Writer out, List<String> columns, JsonMapper jsonMapper) {
+            super(out, columns);
+            this.jsonMapper = jsonMapper;
+        }
+
+        @Override
+        protected void write(Object[] values) throws IOException {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                row.put(columns.get(i), values[i]);
+            }
+            out.write(jsonMapper.writeValueAsString(row));
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.uit.project.service.frontdesk;
+
+/**
+ * One entry of the front-desk stream. Sequences grow by one per change; control events (ready, resync)
+ * reuse the sequence of the last change they refer to.
+ */
+record FrontDeskEvent(long sequence, String name, Object data) {
+}
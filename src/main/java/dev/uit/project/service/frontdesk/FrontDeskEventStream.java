@@ -0,0 +1,194 @@
+package dev.uit.project.service.frontdesk;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.dto.frontdesk.BookingDelta;
+import dev.uit.project.domain.dto.frontdesk.RoomDelta;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.RoomRepository;
+import dev.uit.project.service.event.AfterCommitRefresher;
+import dev.uit.project.service.event.DataChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes room and booking changes to front-desk clients over Server-Sent Events, so they can keep
+ * their boards current instead of polling the full lists.
+ * <p>
+ * Each committed change becomes one small delta with the entity's current state. The last
+ * {@code app.front-desk.history-size} deltas are kept, so a client reconnecting with
+ * {@code Last-Event-ID} gets what it missed. When that is no longer possible (history overrun,
+ * server restarted, client too slow) the client gets a {@code resync} event and should reload.
+ */
+@Component
+public class FrontDeskEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(FrontDeskEventStream.class);
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int historySize;
+    private final int clientBufferSize;
+    private final long emitterTimeoutMs;
+
+    // Event ids are "<streamId>:<sequence>", so ids from before a restart are recognised as stale
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final Object lock = new Object();
+    private final ArrayDeque<FrontDeskEvent> history = new ArrayDeque<>();
+    private long lastSequence;
+
+    private final Set<FrontDeskSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final AfterCommitRefresher deltaReader = new AfterCommitRefresher("front-desk-deltas");
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "front-desk-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FrontDeskEventStream(BookingRepository bookingRepository, RoomRepository roomRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.front-desk.history-size:1000}") int historySize,
+                                @Value("${app.front-desk.client-buffer-size:256}") int clientBufferSize,
+                                @Value("${app.front-desk.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                @Value("${app.front-desk.heartbeat-ms:15000}") long heartbeatMs) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.historySize = historySize;
+        this.clientBufferSize = clientBufferSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        // Keeps idle connections open through proxies and notices clients that went away
+        heartbeats.scheduleAtFixedRate(() -> {
+            subscribers.removeIf(FrontDeskSubscriber::isClosed);
+            subscribers.forEach(FrontDeskSubscriber::heartbeat);
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param lastEventId the {@code Last-Event-ID} a reconnecting client sends, or null for a new client
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        FrontDeskSubscriber subscriber = new FrontDeskSubscriber(emitter, streamId, clientBufferSize, sender);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // Replay and registration happen under the lock so no change falls between them
+        synchronized (lock) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                subscriber.control(new FrontDeskEvent(lastSequence, "ready", "subscribed"));
+            } else {
+                long after = parseSequence(lastEventId);
+                long oldest = history.isEmpty() ? lastSequence + 1 : history.peekFirst().sequence();
+                if (after < oldest - 1 || after > lastSequence) {
+                    subscriber.control(new FrontDeskEvent(lastSequence, "resync", "expired"));
+                } else {
+                    for (FrontDeskEvent event : history) {
+                        if (event.sequence() > after) subscriber.offer(event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        subscribers.removeIf(FrontDeskSubscriber::isClosed);
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        Class<?> type = event.entityType();
+        if (type != Booking.class && type != Room.class) return;
+
+        Long id = event.entityId();
+        deltaReader.execute(() -> {
+            try {
+                if (id == null) {
+                    publish("resync", "reload");
+                } else if (type == Room.class) {
+                    publish("room", readOnlyTransaction.execute(tx -> roomDelta(id)));
+                } else {
+                    publish("booking", readOnlyTransaction.execute(tx -> bookingDelta(id)));
+                }
+            } catch (RuntimeException e) {
+                // The change cannot be described, so clients have to reload to see it
+                log.warn("Could not read the {} delta for id {}", type.getSimpleName(), id, e);
+                publish("resync", "reload");
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        deltaReader.shutdown();
+        subscribers.forEach(FrontDeskSubscriber::complete);
+        subscribers.clear();
+        sender.shutdown();
+    }
+
+    private void publish(String name, Object data) {
+        synchronized (lock) {
+            FrontDeskEvent event = new FrontDeskEvent(++lastSequence, name, data);
+            history.addLast(event);
+            if (history.size() > historySize) history.removeFirst();
+            for (FrontDeskSubscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private RoomDelta roomDelta(Long roomId) {
+        return roomRepository.findById(roomId)
+                .map(room -> new RoomDelta(room.getId(), room.getRoomNumber(), room.getFloor(), room.getStatus()))
+                .orElse(new RoomDelta(roomId, null, null, null));
+    }
+
+    private BookingDelta bookingDelta(Long bookingId) {
+        List<Object[]> rows = bookingRepository.findStayById(bookingId);
+        if (rows.isEmpty()) return new BookingDelta(bookingId, null, null, null, null);
+        Object[] row = rows.get(0);
+        return new BookingDelta(bookingId, (Long) row[1], (LocalDate) row[2], (LocalDate) row[3],
+                (Booking.BookingStatus) row[4]);
+    }
+
+    /**
+     * @return the sequence of an id issued by this stream, or -1 for anything else
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf(':');
+        if (separator < 0 || !eventId.substring(0, separator).equals(streamId)) return -1;
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
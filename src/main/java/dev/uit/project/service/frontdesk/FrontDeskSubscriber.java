@@ -0,0 +1,106 @@
+package dev.uit.project.service.frontdesk;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One connected client. Events are queued and written by at most one sender task at a time, so a slow
+ * client never blocks the thread that produced the event. When its queue is full the backlog is
+ * dropped and replaced by a single resync event telling the client to reload its lists.
+ */
+final class FrontDeskSubscriber {
+
+    private final SseEmitter emitter;
+    private final String streamId;
+    private final BlockingQueue<FrontDeskEvent> queue;
+    private final Executor sender;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // Sent before anything still queued
+    private final AtomicReference<FrontDeskEvent> control = new AtomicReference<>();
+    private volatile boolean heartbeatDue;
+    private volatile boolean closed;
+
+    FrontDeskSubscriber(SseEmitter emitter, String streamId, int bufferSize, Executor sender) {
+        this.emitter = emitter;
+        this.streamId = streamId;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    void offer(FrontDeskEvent event) {
+        if (closed) return;
+        if (!queue.offer(event)) {
+            queue.clear();
+            control.set(new FrontDeskEvent(event.sequence(), "resync", "lagging"));
+        }
+        scheduleDrain();
+    }
+
+    void control(FrontDeskEvent event) {
+        control.set(event);
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        heartbeatDue = true;
+        scheduleDrain();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    void complete() {
+        close();
+        emitter.complete();
+    }
+
+    private void scheduleDrain() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                FrontDeskEvent next = control.getAndSet(null);
+                if (next == null) next = queue.poll();
+                if (next != null) {
+                    send(next);
+                } else if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's own callbacks complete the request
+            close();
+        } finally {
+            draining.set(false);
+        }
+        if (!closed && (control.get() != null || !queue.isEmpty() || heartbeatDue)) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(FrontDeskEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(streamId + ":" + event.sequence())
+                .name(event.name())
+                .data(event.data()));
+    }
+}
@@ -0,0 +1,191 @@
+package dev.uit.project.service.idempotency;
+
+import dev.uit.project.domain.IdempotencyKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers the responses of requests sent with an {@code Idempotency-Key}, so a client retrying after
+ * a timeout gets the original response instead of running the request a second time.
+ * <p>
+ * The {@code idempotency_keys} table makes a key single-use across instances: the first request
+ * inserts it as IN_PROGRESS, and every later request with the key finds that row. Completed responses
+ * are also kept in a bounded in-memory LRU cache, so most replays skip the database. Keys expire after
+ * {@code app.idempotency.ttl-hours}; a key left IN_PROGRESS by a crashed request can be taken over
+ * after {@code app.idempotency.in-progress-timeout-seconds}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, request_hash, status, created_at, expires_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT request_hash, status, response_status, content_type, response_body, created_at, expires_at " +
+            "FROM idempotency_keys WHERE idempotency_key = ?";
+
+    private static final String TAKE_OVER_SQL =
+            "UPDATE idempotency_keys SET request_hash = ?, status = ?, response_status = NULL, content_type = NULL, " +
+            "response_body = NULL, created_at = ?, expires_at = ? WHERE idempotency_key = ? AND created_at = ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = ?, response_status = ?, content_type = ?, response_body = ?, " +
+            "expires_at = ? WHERE idempotency_key = ? AND created_at = ? AND status = ?";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at = ? AND status = ?";
+
+    public enum Outcome {
+        /** The caller owns the key and must {@link #complete} or {@link #release} it. */
+        STARTED,
+        /** The key has a stored response. */
+        REPLAY,
+        /** Another request with the key has not finished yet. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body,
+                                 LocalDateTime expiresAt) {
+    }
+
+    /**
+     * @param claimedAt identifies this claim of the key, so a request that was taken over cannot
+     *                  complete or release the new owner's claim
+     */
+    public record Claim(String key, String requestHash, Outcome outcome, StoredResponse response,
+                        LocalDateTime claimedAt) {
+    }
+
+    private record Row(String requestHash, IdempotencyKey.Status status, StoredResponse response,
+                       LocalDateTime createdAt, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Map<String, StoredResponse> cache;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate,
+                            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${app.idempotency.in-progress-timeout-seconds:60}") long inProgressTimeoutSeconds,
+                            @Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTimeout = Duration.ofSeconds(inProgressTimeoutSeconds);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Claim claim(String key, String requestHash) {
+        // created_at identifies the claim and is compared for equality, so keep it to what the column stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        StoredResponse cached = cached(key, now);
+        if (cached != null) {
+            return stored(key, requestHash, cached);
+        }
+
+        try {
+            jdbcTemplate.update(INSERT_SQL, key, requestHash, IdempotencyKey.Status.IN_PROGRESS.name(),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)));
+            return new Claim(key, requestHash, Outcome.STARTED, null, now);
+        } catch (DuplicateKeyException ex) {
+            // Used before; decide from the stored row below
+        }
+
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            IdempotencyKey.Status status = IdempotencyKey.Status.valueOf(rs.getString(2));
+            LocalDateTime expiresAt = rs.getTimestamp(7).toLocalDateTime();
+            StoredResponse response = status == IdempotencyKey.Status.COMPLETED
+                    ? new StoredResponse(rs.getString(1), rs.getInt(3), rs.getString(4), rs.getBytes(5), expiresAt)
+                    : null;
+            return new Row(rs.getString(1), status, response, rs.getTimestamp(6).toLocalDateTime(), expiresAt);
+        }, key);
+        if (rows.isEmpty()) {
+            // Released by its request in the meantime; the client can simply retry
+            return new Claim(key, requestHash, Outcome.IN_PROGRESS, null, null);
+        }
+
+        Row row = rows.get(0);
+        boolean expired = row.expiresAt().isBefore(now);
+        boolean abandoned = row.status() == IdempotencyKey.Status.IN_PROGRESS
+                && row.createdAt().isBefore(now.minus(inProgressTimeout));
+        if (expired || abandoned) {
+            // The created_at condition lets only one of several concurrent requests take the key over
+            int taken = jdbcTemplate.update(TAKE_OVER_SQL, requestHash, IdempotencyKey.Status.IN_PROGRESS.name(),
+                    Timestamp.valueOf(now), Timestamp.valueOf(now.plus(ttl)), key, Timestamp.valueOf(row.createdAt()));
+            return new Claim(key, requestHash, taken == 1 ? Outcome.STARTED : Outcome.IN_PROGRESS, null,
+                    taken == 1 ? now : null);
+        }
+        if (row.status() == IdempotencyKey.Status.IN_PROGRESS) {
+            return new Claim(key, requestHash,
+                    row.requestHash().equals(requestHash) ? Outcome.IN_PROGRESS : Outcome.MISMATCH, null, null);
+        }
+        synchronized (cache) {
+            cache.put(key, row.response());
+        }
+        return stored(key, requestHash, row.response());
+    }
+
+    public void complete(Claim claim, int status, String contentType, byte[] body) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        int updated = jdbcTemplate.update(COMPLETE_SQL, IdempotencyKey.Status.COMPLETED.name(), status, contentType,
+                body, Timestamp.valueOf(expiresAt), claim.key(), Timestamp.valueOf(claim.claimedAt()),
+                IdempotencyKey.Status.IN_PROGRESS.name());
+        if (updated == 1) {
+            synchronized (cache) {
+                cache.put(claim.key(), new StoredResponse(claim.requestHash(), status, contentType, body, expiresAt));
+            }
+        }
+    }
+
+    /**
+     * Gives the key up after a failed request, so a retry runs the request again.
+     */
+    public void release(Claim claim) {
+        jdbcTemplate.update(RELEASE_SQL, claim.key(), Timestamp.valueOf(claim.claimedAt()),
+                IdempotencyKey.Status.IN_PROGRESS.name());
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(response -> response.expiresAt().isBefore(now));
+        }
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.valueOf(now));
+    }
+
+    private StoredResponse cached(String key, LocalDateTime now) {
+        synchronized (cache) {
+            StoredResponse response = cache.get(key);
+            if (response != null && response.expiresAt().isBefore(now)) {
+                cache.remove(key);
+                return null;
+            }
+            return response;
+        }
+    }
+
+    private static Claim stored(String key, String requestHash, StoredResponse response) {
+        Outcome outcome = response.requestHash().equals(requestHash) ? Outcome.REPLAY : Outcome.MISMATCH;
+        return new Claim(key, requestHash, outcome, outcome == Outcome.REPLAY ? response : null, null);
+    }
+}
@@ -0,0 +1,138 @@
+package dev.uit.project.service.pagination;
+
+import dev.uit.project.domain.dto.KeysetPage;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination over a specification. Rows are ordered by the requested property and then
+ * by id, and each page continues after the sort values of the previous page's last row instead of
+ * skipping an offset, so a deep page costs the same as the first one. The cursor is those sort values,
+ * encoded as an opaque token.
+ * <p>
+ * Only NOT NULL properties may be used for sorting: a row with a null sort value cannot be sought past.
+ */
+public final class Keyset {
+
+    private static final int CURSOR_VERSION = 1;
+
+    private Keyset() {
+    }
+
+    public static <T, R> KeysetPage<R> scroll(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                              KeysetRequest request, Set<String> sortable,
+                                              Function<T, R> mapper) {
+        String sortBy = request.sortBy() != null ? request.sortBy() : "createdAt";
+        if (!sortable.contains(sortBy)) {
+            throw new IllegalArgumentException("Cannot sort by " + sortBy + "; use one of " + new TreeSet<>(sortable));
+        }
+        Sort sort = Sort.by(request.direction(), sortBy, "id");
+        ScrollPosition position = request.cursor() != null ? decode(request.cursor(), sort) : ScrollPosition.keyset();
+
+        Window<T> window = repository.findBy(spec, query -> query.sortBy(sort).limit(request.size()).scroll(position));
+        List<R> content = window.getContent().stream().map(mapper).toList();
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode((KeysetScrollPosition) window.positionAt(window.size() - 1), sort)
+                : null;
+        Long total = request.includeTotal() ? repository.count(spec) : null;
+        return new KeysetPage<>(content, content.size(), nextCursor, nextCursor != null, total);
+    }
+
+    /**
+     * Version, sort direction, then each sort property with a type tag and its value; Base64url encoded.
+     */
+    static String encode(KeysetScrollPosition position, Sort sort) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(CURSOR_VERSION);
+            out.writeBoolean(sort.iterator().next().isAscending());
+            Map<String, Object> keys = position.getKeys();
+            out.writeByte(keys.size());
+            for (Sort.Order order : sort) {
+                out.writeUTF(order.getProperty());
+                writeValue(out, keys.get(order.getProperty()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static KeysetScrollPosition decode(String cursor, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        boolean ascending;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != CURSOR_VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            ascending = in.readBoolean();
+            int count = in.readByte();
+            for (int i = 0; i < count; i++) {
+                String property = in.readUTF();
+                keys.put(property, readValue(in));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Truncated, tampered with or not Base64 at all
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        if (ascending != sort.iterator().next().isAscending() || !new ArrayList<>(keys.keySet()).equals(properties)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case Long l -> {
+                out.writeByte('L');
+                out.writeLong(l);
+            }
+            case Integer i -> {
+                out.writeByte('I');
+                out.writeInt(i);
+            }
+            case String s -> {
+                out.writeByte('S');
+                out.writeUTF(s);
+            }
+            case LocalDateTime t -> {
+                out.writeByte('T');
+                out.writeUTF(t.toString());
+            }
+            case LocalDate d -> {
+                out.writeByte('D');
+                out.writeUTF(d.toString());
+            }
+            case BigDecimal b -> {
+                out.writeByte('B');
+                out.writeUTF(b.toPlainString());
+            }
+            case null, default -> throw new IllegalStateException("Cannot use " + value + " as a keyset value");
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case 'L' -> in.readLong();
+            case 'I' -> in.readInt();
+            case 'S' -> in.readUTF();
+            case 'T' -> LocalDateTime.parse(in.readUTF());
+            case 'D' -> LocalDate.parse(in.readUTF());
+            case 'B' -> new BigDecimal(in.readUTF());
+            default -> throw new IllegalArgumentException("Invalid cursor");
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package dev.uit.project.service.pagination;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request of a keyset-paginated list. A missing or non-positive size reads {@link #DEFAULT_SIZE}
+ * rows and larger sizes are capped at {@link #MAX_SIZE}, so no request loads a whole table.
+ */
+public record KeysetRequest(String cursor, int size, String sortBy, Sort.Direction direction,
+                            boolean includeTotal) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 200;
+
+    public static KeysetRequest of(String cursor, Integer size, String sortBy, String sortDirection,
+                                   boolean includeTotal) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return new KeysetRequest(cursor != null && !cursor.isBlank() ? cursor : null, pageSize, sortBy, direction,
+                includeTotal);
+    }
+}
@@ -0,0 +1,182 @@
+package dev.uit.project.service.pricing;
+
+import dev.uit.project.domain.DailyPrice;
+import dev.uit.project.domain.Promotion;
+import dev.uit.project.domain.RoomType;
+import dev.uit.project.domain.SeasonalPrice;
+import dev.uit.project.domain.dto.pricing.NightlyRate;
+import dev.uit.project.domain.dto.pricing.PriceQuote;
+import dev.uit.project.repository.DailyPriceRepository;
+import dev.uit.project.repository.PromotionRepository;
+import dev.uit.project.repository.RoomTypeRepository;
+import dev.uit.project.repository.SeasonalPriceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Prices stays night by night. A night costs the room type's daily price for that date if one is set,
+ * otherwise the base price times the multiplier of the highest-priority seasonal price covering the
+ * night (the newest rule wins a tie), otherwise the base price.
+ * <p>
+ * Each rule set is loaded once per call for all requested room types, so a quote costs the same
+ * handful of queries whatever the number of nights or room types, and can be run for every result
+ * of an availability search.
+ */
+@Service
+public class PriceQuoteService {
+
+    private static final int MAX_NIGHTS = 365;
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final SeasonalPriceRepository seasonalPriceRepository;
+    private final DailyPriceRepository dailyPriceRepository;
+    private final PromotionRepository promotionRepository;
+
+    public PriceQuoteService(RoomTypeRepository roomTypeRepository,
+                             SeasonalPriceRepository seasonalPriceRepository,
+                             DailyPriceRepository dailyPriceRepository,
+                             PromotionRepository promotionRepository) {
+        this.roomTypeRepository = roomTypeRepository;
+        this.seasonalPriceRepository = seasonalPriceRepository;
+        this.dailyPriceRepository = dailyPriceRepository;
+        this.promotionRepository = promotionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public PriceQuote quote(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, String promotionCode) {
+        if (roomTypeId == null) {
+            throw new IllegalArgumentException("roomTypeId is required");
+        }
+        List<PriceQuote> quotes = quoteAll(List.of(roomTypeId), checkIn, checkOut, promotionCode);
+        if (quotes.isEmpty()) {
+            throw new RuntimeException("Room type not found");
+        }
+        return quotes.get(0);
+    }
+
+    /**
+     * Quotes the stay for each of the given room types, or for every room type when
+     * {@code roomTypeIds} is null. Unknown room type ids are left out of the result.
+     */
+    @Transactional(readOnly = true)
+    public List<PriceQuote> quoteAll(Collection<Long> roomTypeIds, LocalDate checkIn, LocalDate checkOut,
+                                     String promotionCode) {
+        if (checkIn == null || checkOut == null) {
+            throw new IllegalArgumentException("checkInDate and checkOutDate are required");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
+        if (nights > MAX_NIGHTS) {
+            throw new IllegalArgumentException("A quote covers at most " + MAX_NIGHTS + " nights");
+        }
+
+        List<RoomType> roomTypes = roomTypeIds == null
+                ? roomTypeRepository.findAll()
+                : roomTypeRepository.findAllById(roomTypeIds);
+        if (roomTypes.isEmpty()) {
+            return List.of();
+        }
+        roomTypes = new ArrayList<>(roomTypes);
+        roomTypes.sort(Comparator.comparing(RoomType::getId));
+        List<Long> ids = roomTypes.stream().map(RoomType::getId).toList();
+
+        LocalDate lastNight = checkOut.minusDays(1);
+        Map<Long, List<SeasonalPrice>> seasonal = new HashMap<>();
+        // Already ordered by priority, so the first rule covering a night is the one that applies
+        for (SeasonalPrice rule : seasonalPriceRepository.findOverlapping(ids, checkIn, lastNight)) {
+            seasonal.computeIfAbsent(rule.getRoomType().getId(), id -> new ArrayList<>()).add(rule);
+        }
+        Map<Long, Map<LocalDate, DailyPrice>> daily = new HashMap<>();
+        for (DailyPrice price : dailyPriceRepository.findByRoomTypeIdInAndDateBetween(ids, checkIn, lastNight)) {
+            daily.computeIfAbsent(price.getRoomType().getId(), id -> new HashMap<>()).put(price.getDate(), price);
+        }
+
+        String code = promotionCode != null && !promotionCode.isBlank() ? promotionCode.trim().toUpperCase() : null;
+        Promotion promotion = null;
+        String promotionError = null;
+        if (code != null) {
+            promotion = promotionRepository.findByCode(code).orElse(null);
+            promotionError = promotionError(promotion, code, checkIn, nights);
+            if (promotionError != null) promotion = null;
+        }
+
+        List<PriceQuote> quotes = new ArrayList<>(roomTypes.size());
+        for (RoomType roomType : roomTypes) {
+            List<NightlyRate> rates = nightlyRates(roomType, checkIn, nights,
+                    seasonal.getOrDefault(roomType.getId(), List.of()),
+                    daily.getOrDefault(roomType.getId(), Map.of()));
+            BigDecimal subtotal = BigDecimal.ZERO.setScale(2);
+            for (NightlyRate rate : rates) {
+                subtotal = subtotal.add(rate.price());
+            }
+            BigDecimal discount = discount(promotion, subtotal);
+            quotes.add(new PriceQuote(roomType.getId(), roomType.getName(), checkIn, checkOut, nights, rates,
+                    subtotal, code, discount, subtotal.subtract(discount), promotionError));
+        }
+        return quotes;
+    }
+
+    private static List<NightlyRate> nightlyRates(RoomType roomType, LocalDate checkIn, int nights,
+                                                  List<SeasonalPrice> seasonal, Map<LocalDate, DailyPrice> daily) {
+        BigDecimal basePrice = roomType.getBasePrice().setScale(2, RoundingMode.HALF_UP);
+        List<NightlyRate> rates = new ArrayList<>(nights);
+        LocalDate night = checkIn;
+        for (int i = 0; i < nights; i++, night = night.plusDays(1)) {
+            DailyPrice override = daily.get(night);
+            if (override != null) {
+                rates.add(new NightlyRate(night, override.getPrice().setScale(2, RoundingMode.HALF_UP),
+                        NightlyRate.Source.DAILY, override.getReason()));
+                continue;
+            }
+            SeasonalPrice rule = null;
+            for (SeasonalPrice candidate : seasonal) {
+                if (!night.isBefore(candidate.getStartDate()) && !night.isAfter(candidate.getEndDate())) {
+                    rule = candidate;
+                    break;
+                }
+            }
+            rates.add(rule != null
+                    ? new NightlyRate(night, roomType.getBasePrice().multiply(rule.getPriceMultiplier())
+                            .setScale(2, RoundingMode.HALF_UP), NightlyRate.Source.SEASONAL, rule.getName())
+                    : new NightlyRate(night, basePrice, NightlyRate.Source.BASE, null));
+        }
+        return rates;
+    }
+
+    private static String promotionError(Promotion promotion, String code, LocalDate checkIn, int nights) {
+        if (promotion == null) {
+            return "Unknown promotion code: " + code;
+        }
+        if (!Boolean.TRUE.equals(promotion.getIsActive())) {
+            return "Promotion " + code + " is not active";
+        }
+        if (checkIn.isBefore(promotion.getStartDate()) || checkIn.isAfter(promotion.getEndDate())) {
+            return "Promotion " + code + " is not valid for a stay starting on " + checkIn;
+        }
+        if (promotion.getMinNights() != null && nights < promotion.getMinNights()) {
+            return "Promotion " + code + " requires at least " + promotion.getMinNights() + " nights";
+        }
+        if (promotion.getMaxUses() != null && promotion.getUsedCount() >= promotion.getMaxUses()) {
+            return "Promotion " + code + " has been fully used";
+        }
+        return null;
+    }
+
+    private static BigDecimal discount(Promotion promotion, BigDecimal subtotal) {
+        if (promotion == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        BigDecimal discount = promotion.getDiscountType() == Promotion.DiscountType.PERCENTAGE
+                ? subtotal.multiply(promotion.getDiscountValue()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                : promotion.getDiscountValue().setScale(2, RoundingMode.HALF_UP);
+        return discount.min(subtotal);
+    }
+}
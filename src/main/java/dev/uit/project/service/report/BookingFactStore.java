@@ -0,0 +1,334 @@
+package dev.uit.project.service.report;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.RoomType;
+import dev.uit.project.domain.dto.report.Cents;
+import dev.uit.project.domain.dto.report.RoomTypeBookings;
+import dev.uit.project.domain.dto.report.RoomTypeRevenue;
+import dev.uit.project.domain.dto.report.StatusCount;
+import dev.uit.project.domain.dto.report.TrendSeries;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.RoomTypeRepository;
+import dev.uit.project.service.event.AfterCommitRefresher;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Column-oriented in-memory copy of the booking facts the analytics views aggregate over.
+ * Each field lives in its own primitive array indexed by slot; dates are epoch days, money is cents.
+ * Loaded once when the application is ready and refreshed per booking on a background thread shortly
+ * after each committed change.
+ */
+@Component
+public class BookingFactStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingFactStore.class);
+
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+    private static final int CANCELLED = Booking.BookingStatus.CANCELLED.ordinal();
+    private static final int CHECKED_OUT = Booking.BookingStatus.CHECKED_OUT.ordinal();
+
+    private final BookingRepository bookingRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AfterCommitRefresher refresher = new AfterCommitRefresher("booking-facts-refresh");
+
+    // Columns, valid for slots [0, size)
+    private long[] ids = new long[0];
+    private int[] checkIn = new int[0];
+    private int[] checkOut = new int[0];
+    private int[] createdOn = new int[0];
+    private long[] priceCents = new long[0];
+    private byte[] status = new byte[0];
+    private int[] roomType = new int[0];
+    private long[] roomIds = new long[0];
+    private int size;
+    private final Map<Long, Integer> slotById = new HashMap<>();
+
+    // Room type dictionary: facts store a dense index so aggregations can use plain arrays
+    private final List<Long> roomTypeIds = new ArrayList<>();
+    private final Map<Long, Integer> roomTypeIndex = new HashMap<>();
+    private final List<String> roomTypeNames = new ArrayList<>();
+
+    private volatile boolean loaded;
+
+    public BookingFactStore(BookingRepository bookingRepository, RoomTypeRepository roomTypeRepository,
+                            PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                size = 0;
+                slotById.clear();
+                loadRoomTypeNames();
+                try (Stream<Object[]> rows = bookingRepository.streamFacts()) {
+                    rows.forEach(this::upsert);
+                }
+            });
+            loaded = true;
+            log.info("Loaded {} booking facts", size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        Class<?> type = event.entityType();
+        if (type != Booking.class && type != RoomType.class) return;
+        Long id = event.entityId();
+        refresher.execute(() -> {
+            try {
+                refresh(type, id);
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh booking facts for {} {}", type.getSimpleName(), id, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    private void refresh(Class<?> type, Long id) {
+        lock.writeLock().lock();
+        try {
+            // Checked under the lock: a change committed before load() started is picked up by it
+            if (!loaded) return;
+            if (type == Booking.class && id == null) {
+                load();
+                return;
+            }
+            readOnlyTransaction.executeWithoutResult(tx -> {
+                if (type == RoomType.class) {
+                    loadRoomTypeNames();
+                    return;
+                }
+                List<Object[]> rows = bookingRepository.findFactById(id);
+                if (rows.isEmpty()) {
+                    remove(id);
+                } else {
+                    upsert(rows.get(0));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<StatusCount> countByStatus() {
+        long[] counts = new long[STATUSES.length];
+        lockForRead();
+        try {
+            for (int i = 0; i < size; i++) {
+                counts[status[i]]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<StatusCount> result = new ArrayList<>();
+        for (int s = 0; s < counts.length; s++) {
+            if (counts[s] > 0) result.add(new StatusCount(STATUSES[s].name(), counts[s]));
+        }
+        return result;
+    }
+
+    /**
+     * Checked-out bookings and their revenue per room type.
+     */
+    public List<RoomTypeRevenue> revenueByRoomType() {
+        lockForRead();
+        try {
+            long[] counts = new long[roomTypeIds.size()];
+            long[] cents = new long[roomTypeIds.size()];
+            for (int i = 0; i < size; i++) {
+                if (status[i] != CHECKED_OUT) continue;
+                counts[roomType[i]]++;
+                cents[roomType[i]] += priceCents[i];
+            }
+
+            List<RoomTypeRevenue> result = new ArrayList<>();
+            for (int t = 0; t < counts.length; t++) {
+                if (counts[t] > 0) {
+                    result.add(new RoomTypeRevenue(roomTypeNames.get(t), counts[t], Cents.toDecimal(cents[t])));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bookings per room type with check-in in [startDate, endDate], most booked first.
+     */
+    public List<RoomTypeBookings> popularRoomTypes(LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int to = (int) endDate.toEpochDay();
+        lockForRead();
+        try {
+            long[] counts = new long[roomTypeIds.size()];
+            for (int i = 0; i < size; i++) {
+                if (checkIn[i] >= from && checkIn[i] <= to) counts[roomType[i]]++;
+            }
+
+            List<RoomTypeBookings> result = new ArrayList<>();
+            for (int t = 0; t < counts.length; t++) {
+                if (counts[t] > 0) result.add(new RoomTypeBookings(roomTypeNames.get(t), counts[t]));
+            }
+            result.sort((a, b) -> Long.compare(b.bookingCount(), a.bookingCount()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bookings created per day and revenue of non-cancelled stays per check-out day.
+     */
+    public TrendSeries trends(LocalDate startDate, LocalDate endDate) {
+        int from = (int) startDate.toEpochDay();
+        int days = (int) Math.max(0, endDate.toEpochDay() - from + 1);
+        long[] created = new long[days];
+        long[] revenue = new long[days];
+        lockForRead();
+        try {
+            for (int i = 0; i < size; i++) {
+                int createdIndex = createdOn[i] - from;
+                if (createdIndex >= 0 && createdIndex < days) created[createdIndex]++;
+                int checkOutIndex = checkOut[i] - from;
+                if (status[i] != CANCELLED && checkOutIndex >= 0 && checkOutIndex < days) {
+                    revenue[checkOutIndex] += priceCents[i];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new TrendSeries(startDate, created, revenue);
+    }
+
+    private void lockForRead() {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) load();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+    }
+
+    private void loadRoomTypeNames() {
+        for (RoomType type : roomTypeRepository.findAll()) {
+            Integer index = roomTypeIndex.get(type.getId());
+            if (index == null) {
+                addRoomType(type.getId(), type.getName());
+            } else {
+                roomTypeNames.set(index, type.getName());
+            }
+        }
+    }
+
+    private int roomTypeIndex(Long roomTypeId) {
+        Integer index = roomTypeIndex.get(roomTypeId);
+        if (index != null) return index;
+        String name = roomTypeRepository.findById(roomTypeId).map(RoomType::getName).orElse(null);
+        return addRoomType(roomTypeId, name);
+    }
+
+    private int addRoomType(Long roomTypeId, String name) {
+        int index = roomTypeIds.size();
+        roomTypeIds.add(roomTypeId);
+        roomTypeNames.add(name);
+        roomTypeIndex.put(roomTypeId, index);
+        return index;
+    }
+
+    /**
+     * Row layout: id, checkInDate, checkOutDate, createdAt, totalPrice, status, roomTypeId, roomId.
+     */
+    private void upsert(Object[] row) {
+        Long id = (Long) row[0];
+        Integer slot = slotById.get(id);
+        if (slot == null) {
+            ensureCapacity(size + 1);
+            slot = size++;
+            slotById.put(id, slot);
+        }
+        ids[slot] = id;
+        checkIn[slot] = (int) ((LocalDate) row[1]).toEpochDay();
+        checkOut[slot] = (int) ((LocalDate) row[2]).toEpochDay();
+        createdOn[slot] = (int) ((LocalDateTime) row[3]).toLocalDate().toEpochDay();
+        priceCents[slot] = Cents.of(row[4]);
+        status[slot] = (byte) ((Booking.BookingStatus) row[5]).ordinal();
+        roomType[slot] = roomTypeIndex((Long) row[6]);
+        roomIds[slot] = (Long) row[7];
+    }
+
+    private void remove(Long id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        int last = --size;
+        if (slot != last) {
+            // Move the last slot into the hole to keep the columns dense
+            ids[slot] = ids[last];
+            checkIn[slot] = checkIn[last];
+            checkOut[slot] = checkOut[last];
+            createdOn[slot] = createdOn[last];
+            priceCents[slot] = priceCents[last];
+            status[slot] = status[last];
+            roomType[slot] = roomType[last];
+            roomIds[slot] = roomIds[last];
+            slotById.put(ids[slot], slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) return;
+        int grown = Math.max(capacity, Math.max(1024, ids.length + (ids.length >> 1)));
+        ids = Arrays.copyOf(ids, grown);
+        checkIn = Arrays.copyOf(checkIn, grown);
+        checkOut = Arrays.copyOf(checkOut, grown);
+        createdOn = Arrays.copyOf(createdOn, grown);
+        priceCents = Arrays.copyOf(priceCents, grown);
+        status = Arrays.copyOf(status, grown);
+        roomType = Arrays.copyOf(roomType, grown);
+        roomIds = Arrays.copyOf(roomIds, grown);
+    }
+}
@@ -0,0 +1,73 @@
+package dev.uit.project.service.report;
+
+import dev.uit.project.domain.dto.report.DashboardOverview;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the last computed dashboard overview. The snapshot is dropped when a service commits
+ * a data change, and when the calendar day rolls over since the overview is date-relative.
+ */
+@Component
+public class DashboardSnapshotCache {
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object computeLock = new Object();
+
+    public DashboardOverview get(Supplier<DashboardOverview> loader) {
+        Snapshot current = snapshot.get();
+        if (current == null || !current.isValidFor(LocalDate.now())) {
+            current = recompute(loader);
+        }
+        return current.toResponse();
+    }
+
+    private Snapshot recompute(Supplier<DashboardOverview> loader) {
+        synchronized (computeLock) {
+            // Another poller may have refreshed it while we were waiting
+            Snapshot current = snapshot.get();
+            if (current != null && current.isValidFor(LocalDate.now())) {
+                return current;
+            }
+
+            long startGeneration = generation.get();
+            Snapshot fresh = new Snapshot(loader.get(), LocalDate.now(), Instant.now());
+            // Only publish the snapshot if nothing was committed while it was being computed
+            if (generation.get() == startGeneration) {
+                snapshot.set(fresh);
+            }
+            return fresh;
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDataChanged(DataChangedEvent event) {
+        invalidate();
+    }
+
+    private record Snapshot(DashboardOverview overview, LocalDate day, Instant computedAt) {
+
+        boolean isValidFor(LocalDate today) {
+            return day.equals(today);
+        }
+
+        DashboardOverview toResponse() {
+            return overview.withSnapshot(computedAt,
+                    Math.max(0, Instant.now().toEpochMilli() - computedAt.toEpochMilli()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.uit.project.service.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Computes the number of occupied rooms for every day of a window from the stays
+ * overlapping it, using a difference array: each stay adds +1 on its first night
+ * and -1 on its checkout day, and a prefix sum yields the daily counts.
+ */
+public final class OccupancySweep {
+
+    private OccupancySweep() {
+    }
+
+    /**
+     * @param stays rows of {@code [checkInDate, checkOutDate]}; checkout day is not occupied
+     * @return occupied counts, index 0 being {@code startDate}
+     */
+    public static long[] occupiedPerDay(List<Object[]> stays, LocalDate startDate, LocalDate endDate) {
+        long first = startDate.toEpochDay();
+        int days = (int) (endDate.toEpochDay() - first + 1);
+        if (days <= 0) return new long[0];
+
+        long[] delta = new long[days + 1];
+        for (Object[] stay : stays) {
+            long from = Math.max(((LocalDate) stay[0]).toEpochDay(), first) - first;
+            long to = Math.min(((LocalDate) stay[1]).toEpochDay(), first + days) - first;
+            if (from >= to) continue;
+            delta[(int) from]++;
+            delta[(int) to]--;
+        }
+
+        long[] occupied = new long[days];
+        long running = 0;
+        for (int i = 0; i < days; i++) {
+            running += delta[i];
+            occupied[i] = running;
+        }
+        return occupied;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.uit.project.service.report;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only repository calls concurrently on virtual threads.
+ * Each call gets its own read-only transaction (and thus its own connection), and is bounded
+ * by a timeout that is applied both to the JDBC statements and to the caller's wait.
+ */
+@Component
+public class ParallelQueryExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMillis;
+
+    public ParallelQueryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${app.reports.query-timeout-ms:5000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture
+                .supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()), executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for a submitted call, rethrowing its failure (or timeout) as a RuntimeException.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                throw new RuntimeException("Report query timed out", cause);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Report query failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.uit.project.service.report;
+
+import dev.uit.project.domain.dto.report.Cents;
+import dev.uit.project.domain.dto.report.RevenueSeries;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Folds per-day aggregates coming from a single grouped query into report buckets,
+ * filling the days and periods that have no rows with zero.
+ */
+public final class PeriodBuckets {
+
+    private PeriodBuckets() {
+    }
+
+    public static LocalDate periodEnd(LocalDate periodStart, String groupBy) {
+        switch (groupBy != null ? groupBy.toUpperCase() : "DAY") {
+            case "WEEK":
+                return periodStart.plusWeeks(1).minusDays(1);
+            case "MONTH":
+                return periodStart.plusMonths(1).minusDays(1);
+            case "YEAR":
+                return periodStart.plusYears(1).minusDays(1);
+            default:
+                return periodStart;
+        }
+    }
+
+    /**
+     * Converts {@code [LocalDate, count]} rows into a dense array, index 0 being {@code startDate}.
+     */
+    public static long[] denseDaily(List<Object[]> rows, LocalDate startDate, LocalDate endDate) {
+        return denseDaily(rows, 1, false, startDate, endDate);
+    }
+
+    /**
+     * Same as {@link #denseDaily(List, LocalDate, LocalDate)} for the money column at {@code column}, in cents.
+     */
+    public static long[] denseDailyCents(List<Object[]> rows, int column, LocalDate startDate, LocalDate endDate) {
+        return denseDaily(rows, column, true, startDate, endDate);
+    }
+
+    private static long[] denseDaily(List<Object[]> rows, int column, boolean money,
+                                     LocalDate startDate, LocalDate endDate) {
+        long first = startDate.toEpochDay();
+        int days = (int) Math.max(0, endDate.toEpochDay() - first + 1);
+        long[] values = new long[days];
+        for (Object[] row : rows) {
+            long index = ((LocalDate) row[0]).toEpochDay() - first;
+            Object value = row[column];
+            if (index < 0 || index >= days || value == null) continue;
+            values[(int) index] += money ? Cents.of(value) : ((Number) value).longValue();
+        }
+        return values;
+    }
+
+    public static RevenueSeries revenueBreakdown(long[] dailyCents, LocalDate startDate, LocalDate endDate,
+                                                 String groupBy) {
+        long first = startDate.toEpochDay();
+        int capacity = Math.max(1, dailyCents.length);
+        long[] starts = new long[capacity];
+        long[] ends = new long[capacity];
+        long[] revenue = new long[capacity];
+        int periods = 0;
+
+        LocalDate current = startDate;
+        while (!current.isAfter(endDate)) {
+            LocalDate periodEnd = periodEnd(current, groupBy);
+            if (periodEnd.isAfter(endDate)) periodEnd = endDate;
+
+            long sum = 0;
+            for (long day = current.toEpochDay(); day <= periodEnd.toEpochDay(); day++) {
+                sum += dailyCents[(int) (day - first)];
+            }
+            starts[periods] = current.toEpochDay();
+            ends[periods] = periodEnd.toEpochDay();
+            revenue[periods] = sum;
+            periods++;
+
+            current = periodEnd.plusDays(1);
+        }
+        return new RevenueSeries(Arrays.copyOf(starts, periods), Arrays.copyOf(ends, periods),
+                Arrays.copyOf(revenue, periods));
+    }
+
+    public static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    public static YearMonth toYearMonth(Object[] row) {
+        return YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+}
@@ -0,0 +1,22 @@
+package dev.uit.project.service.specification;
+
+import dev.uit.project.domain.Booking;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+public class BookingSpecification {
+
+    /**
+     * Join-fetches what {@code BookingDTO.fromEntity} reads, so a page of bookings is one SELECT instead of
+     * one more per customer, room and room type. Count queries cannot fetch and are left alone.
+     */
+    public static Specification<Booking> fetchCustomerAndRoom() {
+        return (root, query, criteriaBuilder) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("customer", JoinType.INNER);
+                root.fetch("room", JoinType.INNER).fetch("roomType", JoinType.INNER);
+            }
+            return criteriaBuilder.conjunction();
+        };
+    }
+}
@@ -0,0 +1,217 @@
+-- Schema as previously created by Hibernate (ddl-auto=update) from the entities.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE SEQUENCE AMENITY_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE BOOKING_HISTORY_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE BOOKING_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE CUSTOMER_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE DAILY_BOOKING_STATS_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE DAILY_PRICE_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE HOTEL_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE POLICY_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE PROMOTION_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE ROOM_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE ROOM_TYPE_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEASONAL_PRICE_SEQ START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE USER_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE users (
+    id NUMBER(19,0) NOT NULL,
+    username VARCHAR2(100 CHAR) NOT NULL,
+    email VARCHAR2(255 CHAR) NOT NULL,
+    password VARCHAR2(255 CHAR) NOT NULL,
+    first_name VARCHAR2(100 CHAR) NOT NULL,
+    last_name VARCHAR2(100 CHAR) NOT NULL,
+    phone_number VARCHAR2(20 CHAR),
+    role VARCHAR2(20 CHAR) NOT NULL CHECK (role IN ('superadmin', 'admin', 'manager', 'staff', 'client')),
+    status VARCHAR2(20 CHAR) NOT NULL CHECK (status IN ('active', 'inactive', 'invited', 'suspended')),
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE hotels (
+    id NUMBER(19,0) NOT NULL,
+    name VARCHAR2(200 CHAR) NOT NULL,
+    description VARCHAR2(2000 CHAR),
+    address VARCHAR2(500 CHAR) NOT NULL,
+    phone VARCHAR2(20 CHAR),
+    email VARCHAR2(255 CHAR),
+    rating NUMBER(2,1),
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_hotels PRIMARY KEY (id)
+);
+
+CREATE TABLE hotel_images (
+    hotel_id NUMBER(19,0) NOT NULL,
+    image_url VARCHAR2(500 CHAR),
+    CONSTRAINT fk_hotel_images_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
+
+CREATE TABLE amenities (
+    id NUMBER(19,0) NOT NULL,
+    name VARCHAR2(100 CHAR) NOT NULL,
+    icon VARCHAR2(50 CHAR),
+    category VARCHAR2(50 CHAR),
+    description VARCHAR2(500 CHAR),
+    CONSTRAINT pk_amenities PRIMARY KEY (id)
+);
+
+CREATE TABLE hotel_amenities (
+    hotel_id NUMBER(19,0) NOT NULL,
+    amenity_id NUMBER(19,0) NOT NULL,
+    CONSTRAINT pk_hotel_amenities PRIMARY KEY (amenity_id, hotel_id),
+    CONSTRAINT fk_hotel_amenities_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id),
+    CONSTRAINT fk_hotel_amenities_amenity FOREIGN KEY (amenity_id) REFERENCES amenities (id)
+);
+
+CREATE TABLE policies (
+    id NUMBER(19,0) NOT NULL,
+    type VARCHAR2(30 CHAR) NOT NULL CHECK (type IN ('CANCELLATION', 'TERMS', 'PRIVACY', 'CHECKIN_CHECKOUT')),
+    title VARCHAR2(200 CHAR) NOT NULL,
+    content CLOB,
+    language VARCHAR2(10 CHAR),
+    version NUMBER(10,0) NOT NULL,
+    is_active NUMBER(1,0) NOT NULL CHECK (is_active IN (0, 1)),
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_policies PRIMARY KEY (id)
+);
+
+CREATE TABLE promotions (
+    id NUMBER(19,0) NOT NULL,
+    code VARCHAR2(50 CHAR) NOT NULL,
+    description VARCHAR2(500 CHAR),
+    discount_type VARCHAR2(20 CHAR) NOT NULL CHECK (discount_type IN ('PERCENTAGE', 'FIXED')),
+    discount_value NUMBER(12,2) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    min_nights NUMBER(10,0) CHECK (min_nights >= 1),
+    max_uses NUMBER(10,0),
+    used_count NUMBER(10,0) NOT NULL,
+    is_active NUMBER(1,0) NOT NULL CHECK (is_active IN (0, 1)),
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_promotions PRIMARY KEY (id),
+    CONSTRAINT uk_promotions_code UNIQUE (code)
+);
+
+CREATE TABLE customers (
+    id NUMBER(19,0) NOT NULL,
+    first_name VARCHAR2(100 CHAR) NOT NULL,
+    last_name VARCHAR2(100 CHAR) NOT NULL,
+    email VARCHAR2(255 CHAR),
+    phone VARCHAR2(20 CHAR),
+    id_number VARCHAR2(50 CHAR),
+    nationality VARCHAR2(50 CHAR),
+    date_of_birth DATE,
+    address VARCHAR2(500 CHAR),
+    notes VARCHAR2(1000 CHAR),
+    is_vip NUMBER(1,0) NOT NULL CHECK (is_vip IN (0, 1)),
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_customers PRIMARY KEY (id),
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE room_types (
+    id NUMBER(19,0) NOT NULL,
+    name VARCHAR2(100 CHAR) NOT NULL,
+    description VARCHAR2(2000 CHAR),
+    capacity NUMBER(10,0) NOT NULL,
+    base_price NUMBER(12,2) NOT NULL,
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_room_types PRIMARY KEY (id)
+);
+
+CREATE TABLE room_type_images (
+    room_type_id NUMBER(19,0) NOT NULL,
+    image_url VARCHAR2(500 CHAR),
+    CONSTRAINT fk_room_type_images_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
+
+CREATE TABLE room_type_amenities (
+    room_type_id NUMBER(19,0) NOT NULL,
+    amenity VARCHAR2(100 CHAR),
+    CONSTRAINT fk_room_type_amenities_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
+
+CREATE TABLE rooms (
+    id NUMBER(19,0) NOT NULL,
+    room_type_id NUMBER(19,0) NOT NULL,
+    room_number VARCHAR2(20 CHAR) NOT NULL,
+    floor NUMBER(10,0),
+    status VARCHAR2(20 CHAR) NOT NULL CHECK (status IN ('AVAILABLE', 'OCCUPIED', 'MAINTENANCE', 'RESERVED')),
+    notes VARCHAR2(500 CHAR),
+    created_at TIMESTAMP(9) NOT NULL,
+    updated_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_rooms PRIMARY KEY (id),
+    CONSTRAINT uk_rooms_room_type_number UNIQUE (room_type_id, room_number),
+    CONSTRAINT fk_rooms_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
+
+CREATE TABLE seasonal_prices (
+    id NUMBER(19,0) NOT NULL,
+    room_type_id NUMBER(19,0) NOT NULL,
+    name VARCHAR2(100 CHAR) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    price_multiplier NUMBER(5,2) NOT NULL,
+    priority NUMBER(10,0) NOT NULL,
+    CONSTRAINT pk_seasonal_prices PRIMARY KEY (id),
+    CONSTRAINT fk_seasonal_prices_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
+
+CREATE TABLE daily_prices (
+    id NUMBER(19,0) NOT NULL,
+    room_type_id NUMBER(19,0) NOT NULL,
+    price_date DATE NOT NULL,
+    price NUMBER(12,2) NOT NULL,
+    reason VARCHAR2(200 CHAR),
+    CONSTRAINT pk_daily_prices PRIMARY KEY (id),
+    CONSTRAINT uk_daily_prices_room_type_date UNIQUE (room_type_id, price_date),
+    CONSTRAINT fk_daily_prices_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
+
+CREATE TABLE bookings (
+    id NUMBER(19,0) NOT NULL,
+    customer_id NUMBER(19,0) NOT NULL,
+    room_id NUMBER(19,0) NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    total_price NUMBER(12,2) NOT NULL,
+    status VARCHAR2(20 CHAR) NOT NULL
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN', 'CHECKED_OUT', 'CANCELLED')),
+    special_requests VARCHAR2(1000 CHAR),
+    created_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_customer FOREIGN KEY (customer_id) REFERENCES customers (id),
+    CONSTRAINT fk_bookings_room FOREIGN KEY (room_id) REFERENCES rooms (id)
+);
+
+CREATE TABLE booking_history (
+    id NUMBER(19,0) NOT NULL,
+    booking_id NUMBER(19,0) NOT NULL,
+    action VARCHAR2(50 CHAR) NOT NULL,
+    performed_by VARCHAR2(100 CHAR),
+    timestamp TIMESTAMP(9) NOT NULL,
+    notes VARCHAR2(500 CHAR),
+    CONSTRAINT pk_booking_history PRIMARY KEY (id),
+    CONSTRAINT fk_booking_history_booking FOREIGN KEY (booking_id) REFERENCES bookings (id)
+);
+
+CREATE TABLE daily_booking_stats (
+    id NUMBER(19,0) NOT NULL,
+    stat_date DATE NOT NULL,
+    room_type_id NUMBER(19,0) NOT NULL,
+    bookings_created NUMBER(19,0) NOT NULL,
+    checkout_revenue NUMBER(14,2) NOT NULL,
+    occupied_room_nights NUMBER(19,0) NOT NULL,
+    cancellations NUMBER(19,0) NOT NULL,
+    CONSTRAINT pk_daily_booking_stats PRIMARY KEY (id),
+    CONSTRAINT uk_daily_booking_stats_date_type UNIQUE (stat_date, room_type_id),
+    CONSTRAINT fk_daily_booking_stats_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id)
+);
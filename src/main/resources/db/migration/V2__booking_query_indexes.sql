@@ -0,0 +1,23 @@
+-- Indexes for the hot booking predicates. Oracle only indexes primary and unique keys by itself;
+-- daily_prices (room_type_id, price_date) is already covered by uk_daily_prices_room_type_date.
+
+-- Overlap checks when booking a room, availability and the room x date grid
+CREATE INDEX idx_bookings_room_status_dates ON bookings (room_id, status, check_in_date, check_out_date);
+
+-- Revenue by check-out date
+CREATE INDEX idx_bookings_check_out ON bookings (check_out_date, status);
+
+-- Booking trends and counts by creation time
+CREATE INDEX idx_bookings_created_at ON bookings (created_at);
+
+-- Customer booking lists and stats
+CREATE INDEX idx_bookings_customer_status ON bookings (customer_id, status);
+
+-- Status filters and the daily arrival / no-show transitions
+CREATE INDEX idx_bookings_status_check_in ON bookings (status, check_in_date);
+
+-- Booking history timeline
+CREATE INDEX idx_booking_history_booking ON booking_history (booking_id, timestamp);
+
+-- Seasonal rules of a room type by priority
+CREATE INDEX idx_seasonal_prices_room_type ON seasonal_prices (room_type_id, priority);
@@ -0,0 +1,16 @@
+-- Entity ids are allocated in blocks of 50 (Hibernate pooled optimizer, allocationSize = 50), so one
+-- NEXTVAL serves up to 50 inserts. The optimizer treats each value as the top of its block, so ids
+-- already issued are never handed out again. Native inserts using NEXTVAL stay unique; they only
+-- leave gaps. DAILY_BOOKING_STATS_SEQ is only used by native SQL and keeps its increment of 1.
+ALTER SEQUENCE AMENITY_SEQ INCREMENT BY 50;
+ALTER SEQUENCE BOOKING_HISTORY_SEQ INCREMENT BY 50;
+ALTER SEQUENCE BOOKING_SEQ INCREMENT BY 50;
+ALTER SEQUENCE CUSTOMER_SEQ INCREMENT BY 50;
+ALTER SEQUENCE DAILY_PRICE_SEQ INCREMENT BY 50;
+ALTER SEQUENCE HOTEL_SEQ INCREMENT BY 50;
+ALTER SEQUENCE POLICY_SEQ INCREMENT BY 50;
+ALTER SEQUENCE PROMOTION_SEQ INCREMENT BY 50;
+ALTER SEQUENCE ROOM_SEQ INCREMENT BY 50;
+ALTER SEQUENCE ROOM_TYPE_SEQ INCREMENT BY 50;
+ALTER SEQUENCE SEASONAL_PRICE_SEQ INCREMENT BY 50;
+ALTER SEQUENCE USER_SEQ INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- Booking history is appended here in the booking transaction and moved to booking_history in
+-- batches by a background writer. No foreign key or secondary index, to keep the append cheap.
+CREATE SEQUENCE BOOKING_HISTORY_OUTBOX_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE booking_history_outbox (
+    id NUMBER(19,0) NOT NULL,
+    booking_id NUMBER(19,0) NOT NULL,
+    action VARCHAR2(50 CHAR) NOT NULL,
+    performed_by VARCHAR2(100 CHAR),
+    created_at TIMESTAMP(9) NOT NULL,
+    notes VARCHAR2(500 CHAR),
+    CONSTRAINT pk_booking_history_outbox PRIMARY KEY (id)
+);
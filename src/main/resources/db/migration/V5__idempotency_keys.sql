@@ -0,0 +1,15 @@
+-- Idempotency-Key values of mutating requests and the responses they produced
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR2(255 CHAR) NOT NULL,
+    request_hash VARCHAR2(64 CHAR) NOT NULL,
+    status VARCHAR2(20 CHAR) NOT NULL CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    response_status NUMBER(10,0),
+    content_type VARCHAR2(255 CHAR),
+    response_body BLOB,
+    created_at TIMESTAMP(9) NOT NULL,
+    expires_at TIMESTAMP(9) NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+-- Purge of expired keys
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
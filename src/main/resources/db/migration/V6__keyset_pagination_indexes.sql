@@ -0,0 +1,15 @@
+-- Keyset pagination seeks on (sort column, id), so each list's default order is indexed with id as
+-- the tie-breaker and a page is read as a short index range scan whatever its depth.
+
+-- Booking list, newest first
+DROP INDEX idx_bookings_created_at;
+CREATE INDEX idx_bookings_created_at ON bookings (created_at, id);
+
+-- Bookings of one customer, newest first
+CREATE INDEX idx_bookings_customer_created ON bookings (customer_id, created_at, id);
+
+-- Customer list, newest first
+CREATE INDEX idx_customers_created_at ON customers (created_at, id);
+
+-- Room list by room number
+CREATE INDEX idx_rooms_room_number ON rooms (room_number, id);
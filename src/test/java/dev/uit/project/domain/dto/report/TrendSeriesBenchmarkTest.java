@@ -0,0 +1,123 @@
+package dev.uit.project.domain.dto.report;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Building and serializing a ten-year day series as {@link TrendSeries} against the list of maps the
+ * report endpoints returned before. Both start from the same grouped rows. Tagged {@code benchmark},
+ * which the default build skips; run it with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class TrendSeriesBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendSeriesBenchmarkTest.class);
+
+    private static final LocalDate START = LocalDate.of(2020, 1, 1);
+    private static final LocalDate END = START.plusDays(3649);
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 500;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final List<Object[]> rows = rows();
+
+    @Test
+    void typedSeriesAgainstListOfMaps() {
+        assertEquals(mapper.writeValueAsString(mapSeries()), mapper.writeValueAsString(typedSeries()),
+                "Both shapes must serialize to the same JSON");
+
+        Result maps = measure(() -> mapper.writeValueAsString(mapSeries()));
+        Result typed = measure(() -> mapper.writeValueAsString(typedSeries()));
+        log.info("{} days, {} with bookings; build and serialize: list of maps {} ms / {} KB per call, "
+                        + "TrendSeries {} ms / {} KB per call", END.toEpochDay() - START.toEpochDay() + 1, rows.size(),
+                maps.ms(), maps.kilobytes(), typed.ms(), typed.kilobytes());
+
+        assertTrue(typed.kilobytes() < maps.kilobytes(),
+                "TrendSeries allocated no less than the list of maps: " + typed.kilobytes() + " KB");
+    }
+
+    /**
+     * The pre-typed shape, as ReportService built it: one LinkedHashMap per day.
+     */
+    private List<Map<String, Object>> mapSeries() {
+        Map<LocalDate, Object[]> statsByDay = new HashMap<>();
+        for (Object[] row : rows) {
+            statsByDay.put((LocalDate) row[0], row);
+        }
+        List<Map<String, Object>> trends = new ArrayList<>();
+        for (LocalDate current = START; !current.isAfter(END); current = current.plusDays(1)) {
+            Map<String, Object> day = new LinkedHashMap<>();
+            day.put("date", current);
+            Object[] stats = statsByDay.get(current);
+            day.put("bookingCount", stats != null ? ((Number) stats[1]).longValue() : 0L);
+            // Zero with the scale of the typed series, so both outputs compare equal
+            day.put("revenue", stats != null ? stats[2] : Cents.toDecimal(0));
+            trends.add(day);
+        }
+        return trends;
+    }
+
+    private TrendSeries typedSeries() {
+        int days = (int) (END.toEpochDay() - START.toEpochDay() + 1);
+        long[] counts = new long[days];
+        long[] revenue = new long[days];
+        for (Object[] row : rows) {
+            int index = (int) (((LocalDate) row[0]).toEpochDay() - START.toEpochDay());
+            counts[index] = ((Number) row[1]).longValue();
+            revenue[index] = Cents.of(row[2]);
+        }
+        return new TrendSeries(START, counts, revenue);
+    }
+
+    private record Result(double ms, long kilobytes) {
+    }
+
+    private static Result measure(Supplier<String> call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long chars = 0;
+        for (int i = 0; i < WARM_UP; i++) {
+            chars += call.get().length();
+        }
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            chars += call.get().length();
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        assertTrue(chars > 0);
+        return new Result(Math.round(nanos / 1e4 / ITERATIONS) / 100.0, allocated / ITERATIONS / 1024);
+    }
+
+    /**
+     * Grouped rows (day, bookings, revenue) for about two days in three, like the rollup query returns.
+     */
+    private static List<Object[]> rows() {
+        Random random = new Random(1);
+        List<Object[]> rows = new ArrayList<>();
+        for (LocalDate day = START; !day.isAfter(END); day = day.plusDays(1)) {
+            if (random.nextInt(3) == 0) continue;
+            rows.add(new Object[] {day, (long) random.nextInt(40), BigDecimal.valueOf(random.nextInt(2_000_000), 2)});
+        }
+        return rows;
+    }
+}
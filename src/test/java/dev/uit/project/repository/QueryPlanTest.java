@@ -0,0 +1,203 @@
+package dev.uit.project.repository;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Logs the Oracle execution plan of every query declared in {@link BookingRepository} and
+ * {@link RoomRepository}, so index changes can be checked against the SQL Hibernate really sends.
+ * Fails when a repository gains a query that is not listed here.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "dev.uit.project.repository.QueryPlanTest$CapturingInspector")
+class QueryPlanTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanTest.class);
+
+    private static final List<String> EXPECTED_INDEXES = List.of(
+            "IDX_BOOKINGS_ROOM_STATUS_DATES",
+            "IDX_BOOKINGS_CHECK_OUT",
+            "IDX_BOOKINGS_CREATED_AT",
+            "IDX_BOOKINGS_CUSTOMER_CREATED",
+            "IDX_CUSTOMERS_CREATED_AT",
+            "IDX_ROOMS_ROOM_NUMBER",
+            "IDX_BOOKINGS_CUSTOMER_STATUS",
+            "IDX_BOOKINGS_STATUS_CHECK_IN",
+            "IDX_BOOKING_HISTORY_BOOKING",
+            "IDX_SEASONAL_PRICES_ROOM_TYPE",
+            "UK_DAILY_PRICES_ROOM_TYPE_DATE");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void migrationsCreateTheQueryIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT index_name FROM user_indexes", String.class);
+        for (String index : EXPECTED_INDEXES) {
+            assertTrue(indexes.contains(index), "Missing index " + index);
+        }
+    }
+
+    @Test
+    void logsPlanForEveryBookingAndRoomQuery() {
+        Map<String, Runnable> queries = queries();
+        assertEquals(declaredQueries(), new TreeSet<>(queries.keySet()),
+                "Every declared repository query must be listed in QueryPlanTest");
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int statement = 0;
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            CapturingInspector.SQL.clear();
+            transaction.executeWithoutResult(tx -> query.getValue().run());
+            List<String> captured = new ArrayList<>(CapturingInspector.SQL);
+            assertFalse(captured.isEmpty(), query.getKey() + " sent no SQL");
+
+            for (String sql : captured) {
+                String statementId = "QP" + (++statement);
+                jdbcTemplate.execute("EXPLAIN PLAN SET STATEMENT_ID = '" + statementId + "' FOR " + oracleBinds(sql));
+                List<String> plan = jdbcTemplate.queryForList(
+                        "SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', ?, 'TYPICAL'))",
+                        String.class, statementId);
+                log.info("=== {}\n{}\n{}", query.getKey(), sql, String.join("\n", plan));
+            }
+        }
+    }
+
+    private Map<String, Runnable> queries() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(30);
+        Pageable page = PageRequest.of(0, 20);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("BookingRepository.findByStatus/2",
+                () -> bookingRepository.findByStatus(Booking.BookingStatus.CONFIRMED, page));
+        queries.put("BookingRepository.findByCustomerId/1", () -> bookingRepository.findByCustomerId(1L));
+        queries.put("BookingRepository.findByCustomerId/2", () -> bookingRepository.findByCustomerId(1L, page));
+        queries.put("BookingRepository.countByCustomerId/1", () -> bookingRepository.countByCustomerId(1L));
+        queries.put("BookingRepository.totalSpentByCustomer/1", () -> bookingRepository.totalSpentByCustomer(1L));
+        queries.put("BookingRepository.countCancelledByCustomer/1",
+                () -> bookingRepository.countCancelledByCustomer(1L));
+        queries.put("BookingRepository.countCompletedByCustomer/1",
+                () -> bookingRepository.countCompletedByCustomer(1L));
+        queries.put("BookingRepository.countByStatus/1",
+                () -> bookingRepository.countByStatus(Booking.BookingStatus.PENDING));
+        queries.put("BookingRepository.sumRevenueByCheckOutDateAndRoomType/2",
+                () -> bookingRepository.sumRevenueByCheckOutDateAndRoomType(from, to));
+        queries.put("BookingRepository.countCreatedByDayAndRoomType/2",
+                () -> bookingRepository.countCreatedByDayAndRoomType(from, to));
+        queries.put("BookingRepository.findStaysWithRoomTypeOverlapping/2",
+                () -> bookingRepository.findStaysWithRoomTypeOverlapping(from, to));
+        queries.put("BookingRepository.countOverlapping/4",
+                () -> bookingRepository.countOverlapping(1L, from, to, null));
+        queries.put("BookingRepository.findRoomIdsWithOverlap/3",
+                () -> bookingRepository.findRoomIdsWithOverlap(List.of(1L, 2L), from, to));
+        queries.put("BookingRepository.findRoomIdById/1", () -> bookingRepository.findRoomIdById(1L));
+        queries.put("BookingRepository.findByIdForUpdate/1", () -> bookingRepository.findByIdForUpdate(1L));
+        queries.put("BookingRepository.findActiveStays/0", () -> bookingRepository.findActiveStays());
+        queries.put("BookingRepository.findStayById/1", () -> bookingRepository.findStayById(1L));
+        queries.put("BookingRepository.findDateBounds/0", () -> bookingRepository.findDateBounds());
+        queries.put("BookingRepository.streamFacts/0", () -> consume(bookingRepository.streamFacts()));
+        queries.put("BookingRepository.findFactById/1", () -> bookingRepository.findFactById(1L));
+        queries.put("BookingRepository.findFactsByIds/1", () -> bookingRepository.findFactsByIds(List.of(1L, 2L)));
+        queries.put("BookingRepository.streamForExport/4",
+                () -> consume(bookingRepository.streamForExport(Booking.BookingStatus.CONFIRMED, null, from, to)));
+
+        queries.put("RoomRepository.findByRoomTypeId/1", () -> roomRepository.findByRoomTypeId(1L));
+        queries.put("RoomRepository.findByStatus/1", () -> roomRepository.findByStatus(Room.RoomStatus.AVAILABLE));
+        queries.put("RoomRepository.findByFloor/1", () -> roomRepository.findByFloor(1));
+        queries.put("RoomRepository.findAvailableRooms/2", () -> roomRepository.findAvailableRooms(from, to));
+        queries.put("RoomRepository.findByIdForUpdate/1", () -> roomRepository.findByIdForUpdate(1L));
+        queries.put("RoomRepository.findAllByIdForUpdate/1",
+                () -> roomRepository.findAllByIdForUpdate(List.of(1L, 2L)));
+        queries.put("RoomRepository.findAllWithRoomType/0", () -> roomRepository.findAllWithRoomType());
+        queries.put("RoomRepository.findWithRoomTypeById/1", () -> roomRepository.findWithRoomTypeById(1L));
+        queries.put("RoomRepository.findRoomsWithBookingsOverlapping/2",
+                () -> roomRepository.findRoomsWithBookingsOverlapping(from, to));
+        queries.put("RoomRepository.countRoomsByType/0", () -> roomRepository.countRoomsByType());
+        queries.put("RoomRepository.countRoomsByStatus/0", () -> roomRepository.countRoomsByStatus());
+        queries.put("RoomRepository.countByStatus/1", () -> roomRepository.countByStatus(Room.RoomStatus.OCCUPIED));
+        return queries;
+    }
+
+    private static Set<String> declaredQueries() {
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : List.of(BookingRepository.class, RoomRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (method.isSynthetic() || method.isDefault()) continue;
+                declared.add(repository.getSimpleName() + "." + method.getName() + "/" + method.getParameterCount());
+            }
+        }
+        return declared;
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> {
+            });
+        }
+    }
+
+    /**
+     * EXPLAIN PLAN takes no bind values, so JDBC placeholders become named Oracle binds.
+     */
+    private static String oracleBinds(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int bind = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') inLiteral = !inLiteral;
+            if (c == '?' && !inLiteral) {
+                result.append(":").append(++bind);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.dto.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrent bookings of the same and of different rooms. The threads need committed fixtures, so the
+ * test is tagged {@code stress}, which the default build skips; run it with {@code mvn test -Pstress}.
+ */
+@SpringBootTest
+@Tag("stress")
+@Import(BookingFixtures.class)
+class BookingConflictStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingConflictStressTest.class);
+
+    private static final int THREADS = 16;
+    private static final int ROOMS = 8;
+
+    @Autowired
+    private BookingFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<RoomDTO> rooms;
+    private Long customerId;
+    private final LocalDate base = LocalDate.now().plusYears(5);
+
+    @BeforeEach
+    void setUp() {
+        rooms = fixtures.rooms(fixtures.roomType("Stress"), "S", ROOMS);
+        customerId = fixtures.customer("Stress");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void overlappingBookingsForOneRoomNeverBothSucceed() throws Exception {
+        Long roomId = rooms.get(0).getId();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // Every window contains the night of base+2, so only one booking may win
+        runConcurrently(THREADS, thread -> {
+            LocalDate checkIn = base.plusDays(thread % 3);
+            try {
+                bookingService.createBooking(BookingFixtures.booking(customerId, roomId, checkIn, checkIn.plusDays(3)));
+                succeeded.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertConflict(e);
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(1, succeeded.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertNoOverlaps(roomId);
+    }
+
+    @Test
+    void movingBookingsIntoABusyRoomIsRejected() throws Exception {
+        Long target = rooms.get(1).getId();
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 2; i < ROOMS; i++) {
+            bookingIds.add(bookingService.createBooking(BookingFixtures.booking(
+                    customerId, rooms.get(i).getId(), base.plusDays(10), base.plusDays(12))).getId());
+        }
+        AtomicInteger moved = new AtomicInteger();
+
+        runConcurrently(bookingIds.size(), thread -> {
+            UpdateBookingRequest move = new UpdateBookingRequest();
+            move.setRoomId(target);
+            try {
+                bookingService.updateBooking(bookingIds.get(thread), move);
+                moved.incrementAndGet();
+            } catch (RuntimeException e) {
+                assertConflict(e);
+            }
+            return null;
+        });
+
+        assertEquals(1, moved.get());
+        assertNoOverlaps(target);
+    }
+
+    @Test
+    void unrelatedRoomsBookConcurrently() throws Exception {
+        int perRoom = 10;
+        // One room type per room: bookings of one type created on the same day update the same rollup
+        // row, and would wait on each other there instead of on the room locks this test is about
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds.add(fixtures.rooms(fixtures.roomType("Stress parallel"), "P", 1).get(0).getId());
+        }
+        // Warm up with a parallel and a serial round, so neither timed round runs colder code
+        bookEachRoomInParallel(roomIds, base.plusDays(100), perRoom);
+        bookEachRoomSerially(roomIds, base.plusDays(150), perRoom);
+
+        long start = System.nanoTime();
+        bookEachRoomInParallel(roomIds, base.plusDays(200), perRoom);
+        long parallelMs = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        bookEachRoomSerially(roomIds, base.plusDays(250), perRoom);
+        long serialMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("{} bookings in {} rooms: {} ms with a thread per room, {} ms one after another",
+                ROOMS * perRoom, ROOMS, parallelMs, serialMs);
+
+        for (Long roomId : roomIds) {
+            assertEquals(4 * perRoom, stays(roomId).size());
+            assertNoOverlaps(roomId);
+        }
+        // If bookings of different rooms waited on each other, the threads would take as long as one thread
+        assertTrue(parallelMs < serialMs * 3 / 4,
+                "Bookings of different rooms did not run in parallel: " + parallelMs + " ms against " + serialMs
+                        + " ms serially");
+    }
+
+    private void bookEachRoomSerially(List<Long> roomIds, LocalDate from, int nights) {
+        for (Long roomId : roomIds) {
+            bookNights(roomId, from, nights);
+        }
+    }
+
+    private void bookEachRoomInParallel(List<Long> roomIds, LocalDate from, int nights) throws Exception {
+        // Any failure here, a conflict or a lock timeout, fails the test through Future.get()
+        runConcurrently(roomIds.size(), thread -> {
+            bookNights(roomIds.get(thread), from, nights);
+            return null;
+        });
+    }
+
+    private void bookNights(Long roomId, LocalDate from, int nights) {
+        for (int night = 0; night < nights; night++) {
+            LocalDate checkIn = from.plusDays(night);
+            bookingService.createBooking(BookingFixtures.booking(customerId, roomId, checkIn, checkIn.plusDays(1)));
+        }
+    }
+
+    private static void assertConflict(RuntimeException e) {
+        if (e.getMessage() == null || !e.getMessage().contains("is already booked between")) {
+            throw e;
+        }
+    }
+
+    private record Stay(Long id, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private List<Stay> stays(Long roomId) {
+        return jdbcTemplate.query(
+                "SELECT id, check_in_date, check_out_date FROM bookings WHERE room_id = ? AND status <> 'CANCELLED'",
+                (rs, row) -> new Stay(rs.getLong(1), rs.getObject(2, LocalDate.class), rs.getObject(3, LocalDate.class)),
+                roomId);
+    }
+
+    private void assertNoOverlaps(Long roomId) {
+        List<Stay> active = stays(roomId);
+        for (int i = 0; i < active.size(); i++) {
+            for (int j = i + 1; j < active.size(); j++) {
+                Stay a = active.get(i);
+                Stay b = active.get(j);
+                assertFalse(a.checkIn().isBefore(b.checkOut()) && b.checkIn().isBefore(a.checkOut()),
+                        "Bookings " + a.id() + " and " + b.id() + " overlap");
+            }
+        }
+    }
+
+    private interface ThreadTask {
+        Void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int thread = i;
+                Callable<Void> call = () -> {
+                    start.await();
+                    return task.run(thread);
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.dto.*;
+import dev.uit.project.service.event.DataChangedEvent;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Room types, rooms, customers and bookings for the service tests. Names carry a per-call suffix, so
+ * fixtures of different runs never collide in a shared database.
+ * <p>
+ * Tests that run in a rolled-back transaction need nothing else. Tests whose fixtures have to commit,
+ * because several threads or transactions use them, call {@link #deleteAll()} afterwards.
+ */
+@TestComponent
+class BookingFixtures {
+
+    private static final String BOOKINGS_OF_ROOM_TYPES =
+            "SELECT b.id FROM bookings b JOIN rooms r ON r.id = b.room_id WHERE r.room_type_id IN (%s)";
+
+    private final RoomService roomService;
+    private final CustomerService customerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<Long> roomTypeIds = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> customerIds = Collections.synchronizedList(new ArrayList<>());
+
+    BookingFixtures(RoomService roomService, CustomerService customerService, JdbcTemplate jdbcTemplate,
+                    ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.roomService = roomService;
+        this.customerService = customerService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    Long roomType(String name) {
+        CreateRoomTypeRequest roomType = new CreateRoomTypeRequest();
+        roomType.setName(name + " " + suffix());
+        roomType.setCapacity(2);
+        roomType.setBasePrice(new BigDecimal("100.00"));
+        Long id = roomService.createRoomType(roomType).getId();
+        roomTypeIds.add(id);
+        return id;
+    }
+
+    /**
+     * {@code count} rooms of the room type, numbered {@code <prefix>-<i>}, 50 to a floor. Room numbers
+     * are unique per room type only, so they need no suffix.
+     */
+    List<RoomDTO> rooms(Long roomTypeId, String prefix, int count) {
+        BulkCreateRoomRequest request = new BulkCreateRoomRequest();
+        request.setRoomTypeId(roomTypeId);
+        List<BulkCreateRoomRequest.RoomEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BulkCreateRoomRequest.RoomEntry entry = new BulkCreateRoomRequest.RoomEntry();
+            entry.setRoomNumber(prefix + "-" + i);
+            entry.setFloor(i / 50);
+            entries.add(entry);
+        }
+        request.setRooms(entries);
+        return roomService.bulkCreateRooms(request);
+    }
+
+    Long customer(String name) {
+        CreateCustomerRequest customer = new CreateCustomerRequest();
+        customer.setFirstName(name);
+        customer.setLastName("Test");
+        customer.setEmail(name.toLowerCase().replace(' ', '-') + "-" + suffix() + "@example.com");
+        Long id = customerService.createCustomer(customer).getId();
+        customerIds.add(id);
+        return id;
+    }
+
+    static CreateBookingRequest booking(Long customerId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setCustomerId(customerId);
+        request.setRoomId(roomId);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setTotalPrice(new BigDecimal("100.00"));
+        return request;
+    }
+
+    /**
+     * Deletes the committed fixtures of this instance: the bookings of its rooms and customers with their
+     * history, the stats rows of its room types, then the rooms, room types and customers. The in-memory
+     * availability index and report facts are reloaded afterwards.
+     */
+    void deleteAll() {
+        List<Long> roomTypes = List.copyOf(roomTypeIds);
+        List<Long> customers = List.copyOf(customerIds);
+        if (roomTypes.isEmpty() && customers.isEmpty()) return;
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            String bookings = bookingsOf(roomTypes, customers);
+            Object[] args = concat(roomTypes, customers);
+            jdbcTemplate.update("DELETE FROM booking_history_outbox WHERE booking_id IN (" + bookings + ")", args);
+            jdbcTemplate.update("DELETE FROM booking_history WHERE booking_id IN (" + bookings + ")", args);
+            jdbcTemplate.update("DELETE FROM bookings WHERE id IN (" + bookings + ")", args);
+            if (!roomTypes.isEmpty()) {
+                String in = placeholders(roomTypes.size());
+                jdbcTemplate.update("DELETE FROM daily_booking_stats WHERE room_type_id IN (" + in + ")",
+                        roomTypes.toArray());
+                jdbcTemplate.update("DELETE FROM rooms WHERE room_type_id IN (" + in + ")", roomTypes.toArray());
+                jdbcTemplate.update("DELETE FROM room_types WHERE id IN (" + in + ")", roomTypes.toArray());
+            }
+            if (!customers.isEmpty()) {
+                jdbcTemplate.update("DELETE FROM customers WHERE id IN (" + placeholders(customers.size()) + ")",
+                        customers.toArray());
+            }
+        });
+        roomTypeIds.removeAll(roomTypes);
+        customerIds.removeAll(customers);
+
+        eventPublisher.publishEvent(new DataChangedEvent(Room.class, null));
+        eventPublisher.publishEvent(new DataChangedEvent(Booking.class, null));
+    }
+
+    private static String bookingsOf(List<Long> roomTypes, List<Long> customers) {
+        List<String> queries = new ArrayList<>(2);
+        if (!roomTypes.isEmpty()) {
+            queries.add(BOOKINGS_OF_ROOM_TYPES.formatted(placeholders(roomTypes.size())));
+        }
+        if (!customers.isEmpty()) {
+            queries.add("SELECT id FROM bookings WHERE customer_id IN (" + placeholders(customers.size()) + ")");
+        }
+        return String.join(" UNION ", queries);
+    }
+
+    private static Object[] concat(List<Long> first, List<Long> second) {
+        List<Long> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static String suffix() {
+        return Long.toString(System.nanoTime(), 36);
+    }
+}
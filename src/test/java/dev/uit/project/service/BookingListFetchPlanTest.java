@@ -0,0 +1,105 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.dto.RoomDTO;
+import dev.uit.project.service.pagination.KeysetRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The booking list paths map every booking with {@code BookingDTO.fromEntity}, which reads the customer,
+ * the room and its room type. With those fetched in the list query a page costs the same number of
+ * statements whatever its size; lazy loading would add up to three per booking.
+ * <p>
+ * Runs in a rolled-back transaction. The persistence context is cleared before each page, so nothing
+ * the fixtures left in it can stand in for a statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingFixtures.class)
+@Transactional
+class BookingListFetchPlanTest {
+
+    private static final int ROOM_TYPES = 3;
+    private static final int BOOKINGS = 60;
+    private static final int SMALL_PAGE = 5;
+
+    @Autowired
+    private BookingFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void statementsPerPageDoNotGrowWithPageSize() {
+        List<Long> rooms = new ArrayList<>();
+        for (int t = 0; t < ROOM_TYPES; t++) {
+            for (RoomDTO room : fixtures.rooms(fixtures.roomType("Fetch plan"), "F" + t, BOOKINGS / ROOM_TYPES)) {
+                rooms.add(room.getId());
+            }
+        }
+        List<Long> customers = new ArrayList<>();
+        for (int c = 0; c <= BOOKINGS / 2; c++) {
+            customers.add(fixtures.customer("Fetch plan"));
+        }
+        // Half of the bookings belong to the first customer, the rest to one customer each
+        LocalDate checkIn = LocalDate.now().plusYears(7);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingService.createBooking(BookingFixtures.booking(
+                    customers.get(i % 2 == 0 ? 0 : i / 2 + 1), rooms.get(i), checkIn, checkIn.plusDays(2)));
+        }
+        entityManager.flush();
+        Long frequentCustomer = customers.get(0);
+
+        assertConstant("BookingService.getAllBookings", size -> () -> bookingService.getAllBookings(
+                null, null, null, null, null, KeysetRequest.of(null, size, "createdAt", "DESC", false)).content());
+        assertConstant("CustomerService.getCustomerBookings", size -> () -> customerService.getCustomerBookings(
+                frequentCustomer, KeysetRequest.of(null, size, "createdAt", "DESC", false)).content());
+        assertConstant("ReportService.getRecentBookings",
+                size -> () -> reportService.getRecentBookings(size));
+    }
+
+    private void assertConstant(String path, IntFunction<Supplier<List<?>>> page) {
+        long small = statements(page.apply(SMALL_PAGE), SMALL_PAGE);
+        int largeSize = path.startsWith("CustomerService") ? BOOKINGS / 2 : BOOKINGS;
+        long large = statements(page.apply(largeSize), largeSize);
+        assertEquals(small, large, path + " sends " + small + " statements for " + SMALL_PAGE + " rows but "
+                + large + " for " + largeSize);
+    }
+
+    private long statements(Supplier<List<?>> page, int expectedRows) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        List<?> rows = page.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(rows.size() >= expectedRows, "Expected a full page of " + expectedRows + " rows, got " + rows.size());
+        return statements;
+    }
+}
@@ -0,0 +1,134 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.Booking;
+import dev.uit.project.domain.Customer;
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.RoomType;
+import dev.uit.project.domain.dto.BookingDTO;
+import dev.uit.project.domain.dto.GroupBookingRequest;
+import dev.uit.project.domain.dto.RoomDTO;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.CustomerRepository;
+import dev.uit.project.repository.RoomRepository;
+import dev.uit.project.service.availability.RoomAvailabilityIndex;
+import dev.uit.project.service.booking.BookingHistoryOutbox;
+import dev.uit.project.service.booking.RoomLockStripes;
+import dev.uit.project.service.pricing.PriceQuoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Room allocation of group bookings, with the repositories and the availability index mocked.
+ */
+class GroupBookingServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2030, 3, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomAvailabilityIndex availabilityIndex = mock(RoomAvailabilityIndex.class);
+    private final List<Room> rooms = new ArrayList<>();
+
+    private GroupBookingService service;
+
+    @BeforeEach
+    void setUp() {
+        RoomType type = new RoomType();
+        type.setId(1L);
+        type.setName("Double");
+        for (long id = 1; id <= 4; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setRoomType(type);
+            room.setRoomNumber("10" + id);
+            room.setFloor(1);
+            room.setStatus(Room.RoomStatus.AVAILABLE);
+            rooms.add(room);
+        }
+        Map<Long, Room> roomsById = rooms.stream().collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(availabilityIndex.findAvailableRooms(CHECK_IN, CHECK_OUT))
+                .thenAnswer(invocation -> rooms.stream().map(RoomDTO::fromEntity).toList());
+        when(availabilityIndex.slackDays(anyLong(), any(), any(), anyInt())).thenReturn(0);
+        when(roomRepository.findAllByIdForUpdate(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream().map(roomsById::get).toList());
+        when(bookingRepository.saveAll(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new GroupBookingService(bookingRepository, mock(BookingHistoryOutbox.class), customerRepository,
+                roomRepository, mock(PriceQuoteService.class), mock(DailyBookingStatsService.class),
+                availabilityIndex, new RoomLockStripes(4), mock(ApplicationEventPublisher.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void roomTypeListedTwiceGetsDifferentRooms() {
+        List<BookingDTO> bookings = service.createGroupBooking(request(line(1L, 2), line(1L, 2)));
+
+        assertEquals(4, bookings.size());
+        assertEquals(4, new HashSet<>(bookings.stream().map(BookingDTO::getRoomId).toList()).size());
+    }
+
+    @Test
+    void roomTypeListedTwiceCountsBothLinesAgainstTheFreeRooms() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> service.createGroupBooking(request(line(1L, 3), line(1L, 2))));
+
+        assertEquals("Only 1 rooms of type 1 are available between " + CHECK_IN + " and " + CHECK_OUT
+                + ", 2 requested", e.getMessage());
+    }
+
+    @Test
+    void retriesWithoutARoomTakenInTheMeantime() {
+        when(bookingRepository.findRoomIdsWithOverlap(anyCollection(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).contains(1L)
+                        ? List.of(1L) : List.of());
+
+        List<BookingDTO> bookings = service.createGroupBooking(request(line(1L, 3)));
+
+        assertEquals(List.of(2L, 3L, 4L), bookings.stream().map(BookingDTO::getRoomId).sorted().toList());
+    }
+
+    private static GroupBookingRequest request(GroupBookingRequest.RoomTypeQuantity... lines) {
+        GroupBookingRequest request = new GroupBookingRequest();
+        request.setCustomerId(1L);
+        request.setCheckInDate(CHECK_IN);
+        request.setCheckOutDate(CHECK_OUT);
+        request.setRooms(List.of(lines));
+        return request;
+    }
+
+    private static GroupBookingRequest.RoomTypeQuantity line(Long roomTypeId, int quantity) {
+        GroupBookingRequest.RoomTypeQuantity line = new GroupBookingRequest.RoomTypeQuantity();
+        line.setRoomTypeId(roomTypeId);
+        line.setQuantity(quantity);
+        line.setTotalPricePerRoom(new BigDecimal("200.00"));
+        return line;
+    }
+}
@@ -0,0 +1,183 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.dto.RoomDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JDBC statements Hibernate prepares per inserted row. With pooled sequences most inserts need no
+ * sequence round trip, so bulk room creation is dominated by the batched INSERTs.
+ * <p>
+ * The throughput runs commit their rows and are tagged {@code benchmark}, which the default build
+ * skips; run them with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingFixtures.class)
+class IdAllocationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IdAllocationBenchmarkTest.class);
+
+    private static final int ROOMS = 1000;
+    private static final int BOOKINGS = 300;
+    // Matches spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int JDBC_BATCH_SIZE = 20;
+
+    @Autowired
+    private BookingFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @Transactional
+    void roomInsertsDoNotPayAStatementPerRow() {
+        Statistics statistics = statistics();
+        Long roomTypeId = fixtures.roomType("Id allocation");
+
+        statistics.clear();
+        fixtures.rooms(roomTypeId, "R", 200);
+        entityManager.flush();
+        double statementsPerRoom = statistics.getPrepareStatementCount() / 200.0;
+
+        // One sequence call per row would alone be 1.0 per room
+        assertTrue(statementsPerRoom < 0.5, "Room inserts still pay a statement per row: " + statementsPerRoom);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void insertThroughput() {
+        Statistics statistics = statistics();
+        try {
+            Long roomTypeId = fixtures.roomType("Benchmark");
+            Long customerId = fixtures.customer("Benchmark");
+            LocalDate checkIn = LocalDate.now().plusYears(6);
+
+            // Warm up the code paths before measuring
+            List<RoomDTO> warmUp = fixtures.rooms(roomTypeId, "W", 50);
+            bookingService.createBooking(BookingFixtures.booking(customerId, warmUp.get(0).getId(),
+                    checkIn, checkIn.plusDays(2)));
+
+            statistics.clear();
+            long start = System.nanoTime();
+            List<RoomDTO> rooms = fixtures.rooms(roomTypeId, "B", ROOMS);
+            double roomMs = (System.nanoTime() - start) / 1e6;
+            double statementsPerRoom = (double) statistics.getPrepareStatementCount() / ROOMS;
+            log.info("bulkCreateRooms: {} rooms in {} ms ({} rooms/s), {} statements per room",
+                    ROOMS, Math.round(roomMs), Math.round(ROOMS / (roomMs / 1000)), statementsPerRoom);
+
+            statistics.clear();
+            start = System.nanoTime();
+            for (int i = 0; i < BOOKINGS; i++) {
+                bookingService.createBooking(BookingFixtures.booking(customerId, rooms.get(i).getId(),
+                        checkIn, checkIn.plusDays(2)));
+            }
+            double bookingMs = (System.nanoTime() - start) / 1e6;
+            log.info("createBooking: {} bookings in {} ms ({} bookings/s), {} statements per booking",
+                    BOOKINGS, Math.round(bookingMs), Math.round(BOOKINGS / (bookingMs / 1000)),
+                    (double) statistics.getPrepareStatementCount() / BOOKINGS);
+
+            assertTrue(statementsPerRoom < 0.5, "Room inserts still pay a statement per row: " + statementsPerRoom);
+        } finally {
+            fixtures.deleteAll();
+        }
+    }
+
+    /**
+     * Before and after of the move to pooled sequences: the same batched inserts into a scratch table,
+     * with ids from a scratch sequence incremented by 1 (one NEXTVAL per row) and by 50 (one per block).
+     */
+    @Test
+    @Tag("benchmark")
+    void sequenceAllocationSizes() {
+        jdbcTemplate.execute("CREATE TABLE id_allocation_benchmark (id NUMBER(19) PRIMARY KEY, name VARCHAR2(50))");
+        try {
+            // Warm up both paths before measuring
+            insertWithSequence(1, 100);
+            insertWithSequence(50, 100);
+
+            for (int allocationSize : new int[] {1, 50}) {
+                long start = System.nanoTime();
+                int sequenceCalls = insertWithSequence(allocationSize, ROOMS);
+                double ms = (System.nanoTime() - start) / 1e6;
+                int statements = sequenceCalls + (ROOMS + JDBC_BATCH_SIZE - 1) / JDBC_BATCH_SIZE;
+                log.info("allocationSize {}: {} rows in {} ms ({} rows/s), {} statements per row",
+                        allocationSize, ROOMS, Math.round(ms), Math.round(ROOMS / (ms / 1000)),
+                        (double) statements / ROOMS);
+                assertEquals((ROOMS + allocationSize - 1) / allocationSize, sequenceCalls);
+            }
+        } finally {
+            jdbcTemplate.execute("DROP TABLE id_allocation_benchmark");
+        }
+    }
+
+    /**
+     * Inserts {@code rows} rows in JDBC batches, taking ids from a fresh sequence the way Hibernate's
+     * pooled optimizer does: one NEXTVAL reserves {@code allocationSize} ids.
+     *
+     * @return the number of NEXTVAL calls
+     */
+    private int insertWithSequence(int allocationSize, int rows) {
+        jdbcTemplate.execute("CREATE SEQUENCE id_allocation_benchmark_seq INCREMENT BY " + allocationSize);
+        try {
+            return new TransactionTemplate(transactionManager).execute(tx -> {
+                jdbcTemplate.update("DELETE FROM id_allocation_benchmark");
+                int sequenceCalls = 0;
+                long next = 0;
+                long blockEnd = 0;
+                List<Object[]> batch = new ArrayList<>(JDBC_BATCH_SIZE);
+                for (int i = 0; i < rows; i++) {
+                    if (next == blockEnd) {
+                        next = jdbcTemplate.queryForObject(
+                                "SELECT id_allocation_benchmark_seq.NEXTVAL FROM dual", Long.class);
+                        blockEnd = next + allocationSize;
+                        sequenceCalls++;
+                    }
+                    batch.add(new Object[] {next++, "R-" + i});
+                    if (batch.size() == JDBC_BATCH_SIZE || i == rows - 1) {
+                        jdbcTemplate.batchUpdate("INSERT INTO id_allocation_benchmark (id, name) VALUES (?, ?)", batch);
+                        batch.clear();
+                    }
+                }
+                return sequenceCalls;
+            });
+        } finally {
+            jdbcTemplate.execute("DROP SEQUENCE id_allocation_benchmark_seq");
+        }
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
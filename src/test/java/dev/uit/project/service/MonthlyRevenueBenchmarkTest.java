@@ -0,0 +1,137 @@
+package dev.uit.project.service;
+
+import dev.uit.project.domain.dto.RoomDTO;
+import dev.uit.project.domain.dto.report.MonthlyRevenue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link ReportService#getMonthlyRevenue} against the two queries per month it used to run over the
+ * bookings table. Commits its fixtures and is tagged {@code benchmark}, which the default build skips;
+ * run it with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Tag("benchmark")
+@Import(BookingFixtures.class)
+class MonthlyRevenueBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRevenueBenchmarkTest.class);
+
+    private static final int ROOMS = 20;
+    private static final int STAYS_PER_ROOM = 30;
+    private static final int CALLS = 50;
+
+    @Autowired
+    private BookingFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void monthlyRevenueAgainstQueriesPerMonth() {
+        List<RoomDTO> rooms = fixtures.rooms(fixtures.roomType("Monthly revenue"), "M", ROOMS);
+        Long customerId = fixtures.customer("Monthly revenue");
+        // Two-night stays every twelve days, so check-outs fall into each of the last twelve months
+        LocalDate first = YearMonth.now().minusMonths(11).atDay(1);
+        for (RoomDTO room : rooms) {
+            for (int i = 0; i < STAYS_PER_ROOM; i++) {
+                LocalDate checkIn = first.plusDays(12L * i);
+                bookingService.createBooking(BookingFixtures.booking(customerId, room.getId(), checkIn,
+                        checkIn.plusDays(2)));
+            }
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int months : new int[] {12, 60}) {
+            assertSameMonths(perMonthQueries(months), reportService.getMonthlyRevenue(months));
+            statistics.clear();
+            reportService.getMonthlyRevenue(months);
+            long rollupStatements = statistics.getPrepareStatementCount();
+
+            double perMonthMs = timePerCall(this::perMonthQueries, months);
+            double rollupMs = timePerCall(reportService::getMonthlyRevenue, months);
+            log.info("getMonthlyRevenue({}): two queries per month {} ms ({} statements), rollup {} ms ({} statements)",
+                    months, perMonthMs, 2 * months, rollupMs, rollupStatements);
+            assertEquals(1, rollupStatements, "getMonthlyRevenue must run one query for any number of months");
+        }
+    }
+
+    /**
+     * The former implementation: revenue by check-out date and bookings by creation date, one query
+     * each per month.
+     */
+    private List<MonthlyRevenue> perMonthQueries(int months) {
+        List<MonthlyRevenue> result = new ArrayList<>();
+        YearMonth current = YearMonth.now();
+        for (int i = months - 1; i >= 0; i--) {
+            YearMonth month = current.minusMonths(i);
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.atEndOfMonth();
+            BigDecimal revenue = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(total_price), 0) FROM bookings "
+                    + "WHERE status <> 'CANCELLED' AND check_out_date BETWEEN ? AND ?", BigDecimal.class, start, end);
+            Long bookings = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings "
+                    + "WHERE created_at >= ? AND created_at < ?", Long.class, start.atStartOfDay(),
+                    end.plusDays(1).atStartOfDay());
+            result.add(new MonthlyRevenue(month.getMonth().toString().substring(0, 3), month.getYear(),
+                    revenue, bookings));
+        }
+        return result;
+    }
+
+    private static void assertSameMonths(List<MonthlyRevenue> expected, List<MonthlyRevenue> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            MonthlyRevenue want = expected.get(i);
+            MonthlyRevenue got = actual.get(i);
+            String month = want.month() + " " + want.year();
+            assertEquals(want.month() + want.year(), got.month() + got.year());
+            assertEquals(0, want.revenue().compareTo(got.revenue()),
+                    "Revenue of " + month + ": bookings table " + want.revenue() + ", rollup " + got.revenue());
+            assertEquals(want.bookings(), got.bookings(), "Bookings created in " + month);
+        }
+    }
+
+    private static double timePerCall(IntFunction<List<MonthlyRevenue>> call, int months) {
+        for (int i = 0; i < CALLS; i++) {
+            call.apply(months);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            call.apply(months);
+        }
+        return Math.round((System.nanoTime() - start) / 1e4 / CALLS) / 100.0;
+    }
+}
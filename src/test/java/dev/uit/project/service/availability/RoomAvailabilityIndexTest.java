@@ -0,0 +1,178 @@
+package dev.uit.project.service.availability;
+
+import dev.uit.project.domain.Room;
+import dev.uit.project.domain.RoomType;
+import dev.uit.project.domain.dto.availability.RoomTypeAvailability;
+import dev.uit.project.repository.BookingRepository;
+import dev.uit.project.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The per-night sweep of {@link RoomAvailabilityIndex#countAvailableByRoomType} against counting
+ * every night of the stay directly.
+ */
+class RoomAvailabilityIndexTest {
+
+    private static final LocalDate DAY_0 = LocalDate.of(2030, 1, 1);
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final List<Room> rooms = new ArrayList<>();
+    private final List<Object[]> stays = new ArrayList<>();
+
+    @Test
+    void countsRoomsFreeForTheWholeStayAndOnItsBusiestNight() {
+        RoomType type = roomType(1L);
+        room(1L, type, Room.RoomStatus.AVAILABLE);
+        room(2L, type, Room.RoomStatus.AVAILABLE);
+        room(3L, type, Room.RoomStatus.AVAILABLE);
+        room(4L, type, Room.RoomStatus.MAINTENANCE);
+        stay(10L, 1L, 0, 2);
+        stay(11L, 2L, 2, 4);
+        stay(12L, 4L, 0, 4);
+
+        RoomTypeAvailability availability = index().countAvailableByRoomType(day(0), day(4)).get(0);
+
+        assertEquals(4, availability.totalRooms());
+        assertEquals(1, availability.availableRooms());
+        // Rooms 1 and 2 are each busy on half the nights, so two rooms are free every night
+        assertEquals(2, availability.minFreeRooms());
+    }
+
+    @Test
+    void overlappingBookingsOfOneRoomCountItsNightsOnce() {
+        RoomType type = roomType(1L);
+        room(1L, type, Room.RoomStatus.AVAILABLE);
+        room(2L, type, Room.RoomStatus.AVAILABLE);
+        stay(10L, 1L, 0, 6);
+        stay(11L, 1L, 1, 3);
+        stay(12L, 1L, 2, 8);
+
+        RoomTypeAvailability availability = index().countAvailableByRoomType(day(0), day(5)).get(0);
+
+        assertEquals(1, availability.availableRooms());
+        assertEquals(1, availability.minFreeRooms());
+    }
+
+    @Test
+    void staysOutsideTheRangeDoNotCount() {
+        RoomType type = roomType(1L);
+        room(1L, type, Room.RoomStatus.AVAILABLE);
+        stay(10L, 1L, 0, 5);
+        stay(11L, 1L, 10, 12);
+
+        RoomTypeAvailability availability = index().countAvailableByRoomType(day(5), day(10)).get(0);
+
+        assertEquals(1, availability.availableRooms());
+        assertEquals(1, availability.minFreeRooms());
+    }
+
+    @Test
+    void matchesAPerNightCountOfRandomBookings() {
+        Random random = new Random(7);
+        List<RoomType> types = List.of(roomType(1L), roomType(2L), roomType(3L));
+        for (long id = 1; id <= 30; id++) {
+            room(id, types.get(random.nextInt(types.size())),
+                    random.nextInt(6) == 0 ? Room.RoomStatus.MAINTENANCE : Room.RoomStatus.AVAILABLE);
+        }
+        for (long id = 1; id <= 120; id++) {
+            int start = random.nextInt(60);
+            stay(id, 1L + random.nextInt(30), start, start + 1 + random.nextInt(8));
+        }
+        RoomAvailabilityIndex index = index();
+
+        for (int query = 0; query < 300; query++) {
+            int from = random.nextInt(65);
+            int to = from + 1 + random.nextInt(10);
+            for (RoomTypeAvailability availability : index.countAvailableByRoomType(day(from), day(to))) {
+                int[] expected = countNights(availability.roomTypeId(), from, to);
+                String range = availability.roomType() + " [" + from + ", " + to + ")";
+                assertEquals(expected[0], availability.totalRooms(), range);
+                assertEquals(expected[1], availability.availableRooms(), range);
+                assertEquals(expected[2], availability.minFreeRooms(), range);
+            }
+        }
+    }
+
+    /**
+     * Total rooms, rooms free for every night and the fewest free rooms on one night, by looking at
+     * each night of each room.
+     */
+    private int[] countNights(Long roomTypeId, int from, int to) {
+        int total = 0;
+        int available = 0;
+        int[] freeOnNight = new int[to - from];
+        for (Room room : rooms) {
+            if (!room.getRoomType().getId().equals(roomTypeId)) continue;
+            total++;
+            if (room.getStatus() != Room.RoomStatus.AVAILABLE) continue;
+            boolean freeEveryNight = true;
+            for (int night = from; night < to; night++) {
+                if (isFree(room.getId(), night)) {
+                    freeOnNight[night - from]++;
+                } else {
+                    freeEveryNight = false;
+                }
+            }
+            if (freeEveryNight) available++;
+        }
+        int minFree = Integer.MAX_VALUE;
+        for (int free : freeOnNight) {
+            minFree = Math.min(minFree, free);
+        }
+        return new int[] {total, available, minFree};
+    }
+
+    private boolean isFree(Long roomId, int night) {
+        for (Object[] stay : stays) {
+            if (stay[1].equals(roomId) && !day(night).isBefore((LocalDate) stay[2])
+                    && day(night).isBefore((LocalDate) stay[3])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private RoomAvailabilityIndex index() {
+        when(roomRepository.findAllWithRoomType()).thenReturn(rooms);
+        when(bookingRepository.findActiveStays()).thenReturn(stays);
+        RoomAvailabilityIndex index = new RoomAvailabilityIndex(roomRepository, bookingRepository,
+                mock(PlatformTransactionManager.class));
+        index.load();
+        return index;
+    }
+
+    private static RoomType roomType(Long id) {
+        RoomType type = new RoomType();
+        type.setId(id);
+        type.setName("Type " + id);
+        return type;
+    }
+
+    private void room(Long id, RoomType type, Room.RoomStatus status) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomType(type);
+        room.setRoomNumber(Long.toString(id));
+        room.setStatus(status);
+        rooms.add(room);
+    }
+
+    private void stay(Long bookingId, Long roomId, int checkIn, int checkOut) {
+        stays.add(new Object[] {bookingId, roomId, day(checkIn), day(checkOut)});
+    }
+
+    private static LocalDate day(int offset) {
+        return DAY_0.plusDays(offset);
+    }
+}
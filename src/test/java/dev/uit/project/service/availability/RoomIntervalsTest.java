@@ -0,0 +1,111 @@
+package dev.uit.project.service.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoomIntervalsTest {
+
+    @Test
+    void adjacentStaysDoNotOverlap() {
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 15);
+
+        assertFalse(booked.overlaps(5, 10), "check-out day before the stay is free");
+        assertFalse(booked.overlaps(15, 20), "check-in on the check-out day is free");
+        assertTrue(booked.overlaps(14, 16));
+        assertTrue(booked.overlaps(9, 11));
+        assertTrue(booked.overlaps(11, 12), "range inside the stay");
+        assertTrue(booked.overlaps(0, 30), "range around the stay");
+    }
+
+    @Test
+    void nestedStayDoesNotHideTheLongerOne() {
+        // A double booking: the short stay starts later but ends first, so only maxEnd sees the long one
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 30).with(2, 12, 14);
+
+        assertTrue(booked.overlaps(20, 22));
+        assertTrue(booked.overlaps(29, 40));
+        assertFalse(booked.overlaps(30, 40));
+        assertFalse(booked.overlaps(0, 10));
+    }
+
+    @Test
+    void startsBeforeCountsStrictlyEarlierStarts() {
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 12).with(2, 20, 22).with(3, 20, 25);
+
+        assertEquals(0, booked.startsBefore(10));
+        assertEquals(1, booked.startsBefore(11));
+        assertEquals(1, booked.startsBefore(20));
+        assertEquals(3, booked.startsBefore(21));
+    }
+
+    @Test
+    void withKeepsStartsSortedAndReplacesTheSameBooking() {
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 20, 22).with(2, 5, 8).with(3, 12, 13).with(2, 30, 31);
+
+        assertEquals(3, booked.size());
+        assertEquals(3, booked.bookingId(0));
+        assertEquals(1, booked.bookingId(1));
+        assertEquals(2, booked.bookingId(2));
+        assertEquals(30, booked.start(2));
+        assertFalse(booked.overlaps(5, 8), "the moved booking no longer covers its old dates");
+    }
+
+    @Test
+    void withoutRemovesOnlyThatBooking() {
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 30).with(2, 12, 14);
+
+        assertFalse(booked.without(1).overlaps(20, 22));
+        assertTrue(booked.without(1).overlaps(13, 14));
+        assertSame(booked, booked.without(99));
+        assertSame(RoomIntervals.EMPTY, booked.without(1).without(2));
+    }
+
+    @Test
+    void slackAroundMeasuresTheGapOnEachSide() {
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 15).with(2, 20, 25);
+
+        assertEquals(0, booked.slackAround(15, 20, 7), "stay fills the gap exactly");
+        assertEquals(1 + 2, booked.slackAround(16, 18, 7));
+        assertEquals(7 + 7, booked.slackAround(40, 42, 7), "nothing after, long gap before");
+        assertEquals(7 + 3, booked.slackAround(2, 7, 7), "nothing before");
+        assertEquals(14, RoomIntervals.EMPTY.slackAround(2, 7, 7));
+    }
+
+    @Test
+    void slackAroundUsesTheLatestEndBefore() {
+        // The nested stay ends on day 14 but the room is busy until day 30
+        RoomIntervals booked = RoomIntervals.EMPTY.with(1, 10, 30).with(2, 12, 14);
+
+        assertEquals(2 + 7, booked.slackAround(32, 33, 7));
+    }
+
+    @Test
+    void overlapsMatchesAScanOfRandomIntervals() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int count = random.nextInt(8);
+            int[][] stays = new int[count][];
+            RoomIntervals booked = RoomIntervals.EMPTY;
+            for (int i = 0; i < count; i++) {
+                int start = random.nextInt(60);
+                stays[i] = new int[] {start, start + 1 + random.nextInt(10)};
+                booked = booked.with(i, stays[i][0], stays[i][1]);
+            }
+            for (int query = 0; query < 20; query++) {
+                int from = random.nextInt(70);
+                int to = from + 1 + random.nextInt(10);
+                boolean expected = false;
+                for (int[] stay : stays) {
+                    expected |= stay[0] < to && from < stay[1];
+                }
+                assertEquals(expected, booked.overlaps(from, to), "[" + from + ", " + to + ") in round " + round);
+            }
+        }
+    }
+}
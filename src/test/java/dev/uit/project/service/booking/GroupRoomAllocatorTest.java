@@ -0,0 +1,104 @@
+package dev.uit.project.service.booking;
+
+import dev.uit.project.service.booking.GroupRoomAllocator.Candidate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupRoomAllocatorTest {
+
+    @Test
+    void prefersTheFewestFloors() {
+        List<Candidate> candidates = List.of(
+                room(101, 1, 0), room(102, 2, 0),
+                room(301, 3, 9), room(302, 3, 9), room(303, 3, 9));
+
+        assertEquals(List.of(301L, 302L, 303L), roomIds(GroupRoomAllocator.allocate(candidates, 3)));
+    }
+
+    @Test
+    void fewerFloorsWinOverLessSlack() {
+        List<Candidate> candidates = List.of(
+                room(101, 1, 0), room(201, 2, 0),
+                room(701, 7, 14), room(702, 7, 14));
+
+        assertEquals(List.of(701L, 702L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void countsTheFloorsBetweenAsPartOfTheSpan() {
+        // Floors 1 and 4 span three floors, floors 8 and 9 only one
+        List<Candidate> candidates = List.of(
+                room(101, 1, 0), room(401, 4, 0),
+                room(801, 8, 5), room(901, 9, 5));
+
+        assertEquals(List.of(801L, 901L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void equalSpansAreDecidedBySlack() {
+        List<Candidate> candidates = List.of(
+                room(201, 2, 10), room(202, 2, 10),
+                room(501, 5, 1), room(502, 5, 2));
+
+        assertEquals(List.of(501L, 502L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void equalSpanAndSlackKeepTheLowestFloors() {
+        List<Candidate> candidates = List.of(
+                room(501, 5, 3), room(502, 5, 3),
+                room(201, 2, 3), room(202, 2, 3));
+
+        assertEquals(List.of(201L, 202L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void picksTheTightestGapsInsideTheWindow() {
+        List<Candidate> candidates = List.of(
+                room(301, 3, 5), room(304, 3, 0), room(302, 3, 3), room(303, 3, 0));
+
+        assertEquals(List.of(303L, 304L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void slackOfTheWholeWindowDecidesBetweenMultiFloorWindows() {
+        // Both windows span one floor; floors 2-3 would pick slack 0 + 6, floors 5-6 slack 2 + 2
+        List<Candidate> candidates = List.of(
+                room(201, 2, 0), room(301, 3, 6),
+                room(501, 5, 2), room(601, 6, 2));
+
+        assertEquals(List.of(501L, 601L), roomIds(GroupRoomAllocator.allocate(candidates, 2)));
+    }
+
+    @Test
+    void returnsNothingWhenTooFewRoomsAreFree() {
+        List<Candidate> candidates = List.of(room(101, 1, 0), room(201, 2, 0));
+
+        assertTrue(GroupRoomAllocator.allocate(candidates, 3).isEmpty());
+        assertTrue(GroupRoomAllocator.allocate(candidates, 0).isEmpty());
+        assertTrue(GroupRoomAllocator.allocate(List.of(), 1).isEmpty());
+    }
+
+    @Test
+    void leavesTheCandidateListUnchanged() {
+        List<Candidate> candidates = new ArrayList<>(List.of(room(101, 1, 4), room(102, 1, 0), room(103, 1, 2)));
+        List<Candidate> before = List.copyOf(candidates);
+
+        GroupRoomAllocator.allocate(candidates, 2);
+
+        assertEquals(before, candidates);
+    }
+
+    private static Candidate room(long id, int floor, int slackDays) {
+        return new Candidate(id, floor, Long.toString(id), slackDays);
+    }
+
+    private static List<Long> roomIds(List<Candidate> chosen) {
+        return chosen.stream().map(Candidate::roomId).sorted().toList();
+    }
+}
@@ -0,0 +1,133 @@
+package dev.uit.project.service.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetTest {
+
+    private static final Sort BY_CREATED = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    @Test
+    void cursorRoundTripsEveryValueType() {
+        assertRoundTrip(Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                keys("createdAt", LocalDateTime.of(2030, 1, 2, 3, 4, 5, 6000), "id", 42L));
+        assertRoundTrip(Sort.by(Sort.Direction.ASC, "checkInDate", "id"),
+                keys("checkInDate", LocalDate.of(2030, 1, 2), "id", 7L));
+        assertRoundTrip(Sort.by(Sort.Direction.ASC, "totalPrice", "id"),
+                keys("totalPrice", new BigDecimal("1234.50"), "id", 7L));
+        assertRoundTrip(Sort.by(Sort.Direction.ASC, "roomNumber", "id"),
+                keys("roomNumber", "A-101 ünïcödé", "id", 7L));
+        assertRoundTrip(Sort.by(Sort.Direction.ASC, "floor", "id"), keys("floor", 3, "id", 7L));
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = Keyset.encode(ScrollPosition.forward(keys("roomNumber", "???>>>", "id", -1L)),
+                Sort.by("roomNumber", "id"));
+
+        assertEquals(cursor, cursor.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsACursorOfAnotherSortProperty() {
+        String cursor = Keyset.encode(ScrollPosition.forward(keys("checkInDate", LocalDate.of(2030, 1, 2), "id", 7L)),
+                Sort.by(Sort.Direction.DESC, "checkInDate", "id"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Keyset.decode(cursor, BY_CREATED));
+        assertEquals("Cursor does not match the requested sort", e.getMessage());
+    }
+
+    @Test
+    void rejectsACursorOfTheOtherDirection() {
+        String cursor = Keyset.encode(ScrollPosition.forward(keys("createdAt", LocalDateTime.now(), "id", 7L)),
+                BY_CREATED);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Keyset.decode(cursor, Sort.by(Sort.Direction.ASC, "createdAt", "id")));
+        assertEquals("Cursor does not match the requested sort", e.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String valid = Keyset.encode(ScrollPosition.forward(keys("createdAt", LocalDateTime.now(), "id", 7L)),
+                BY_CREATED);
+        byte[] bytes = Base64.getUrlDecoder().decode(valid);
+
+        assertInvalid("not base64 !");
+        assertInvalid("");
+        assertInvalid(valid.substring(0, valid.length() / 2));
+        assertInvalid(withByte(bytes, 0, 2));
+        // Type tag of the first value, right after version, direction, count and the property name
+        assertInvalid(withByte(bytes, 3 + 2 + "createdAt".length(), 'X'));
+        // A key count larger than the cursor holds
+        assertInvalid(withByte(bytes, 2, 5));
+    }
+
+    @Test
+    void rejectsAValueThatDoesNotParse() {
+        String cursor = Keyset.encode(ScrollPosition.forward(keys("createdAt", "yesterday", "id", 7L)), BY_CREATED);
+        // Relabelled as a timestamp, the string no longer parses
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        int tag = 3 + 2 + "createdAt".length();
+        assertEquals('S', bytes[tag]);
+
+        assertInvalid(withByte(bytes, tag, 'T'));
+    }
+
+    @Test
+    void requestSizeIsDefaultedAndCapped() {
+        assertEquals(KeysetRequest.DEFAULT_SIZE, KeysetRequest.of(null, null, null, null, false).size());
+        assertEquals(KeysetRequest.DEFAULT_SIZE, KeysetRequest.of(null, 0, null, null, false).size());
+        assertEquals(KeysetRequest.MAX_SIZE, KeysetRequest.of(null, 100_000, null, null, false).size());
+        assertEquals(50, KeysetRequest.of(null, 50, null, null, false).size());
+    }
+
+    @Test
+    void requestTreatsABlankCursorAsTheFirstPage() {
+        KeysetRequest request = KeysetRequest.of("  ", 10, "createdAt", "asc", false);
+
+        assertNull(request.cursor());
+        assertEquals(Sort.Direction.ASC, request.direction());
+        assertEquals(Sort.Direction.DESC, KeysetRequest.of(null, 10, null, "sideways", false).direction());
+    }
+
+    private static void assertRoundTrip(Sort sort, Map<String, Object> keys) {
+        KeysetScrollPosition decoded = Keyset.decode(Keyset.encode(ScrollPosition.forward(keys), sort), sort);
+
+        assertEquals(keys, decoded.getKeys());
+        assertEquals(ScrollPosition.Direction.FORWARD, decoded.getDirection());
+    }
+
+    private static void assertInvalid(String cursor) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> Keyset.decode(cursor, BY_CREATED));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    private static String withByte(byte[] bytes, int index, int value) {
+        byte[] copy = bytes.clone();
+        copy[index] = (byte) value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(copy);
+    }
+
+    private static Map<String, Object> keys(String property, Object value, String idProperty, Object id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, value);
+        keys.put(idProperty, id);
+        return keys;
+    }
+}